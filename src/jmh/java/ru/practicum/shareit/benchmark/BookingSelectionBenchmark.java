@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingStateEnum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingSelectionBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"100000"})
+    private int bookings;
+
+    @Param({"42"})
+    private long seed;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("generate")
+                .properties("logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .run("--shareit.dataset.users=" + Math.max(10, items / 10),
+                        "--shareit.dataset.requests=0",
+                        "--shareit.dataset.items=" + items,
+                        "--shareit.dataset.bookings=" + bookings,
+                        "--shareit.dataset.comments=0",
+                        "--shareit.dataset.seed=" + seed);
+        bookingRepository = context.getBean(BookingRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> lastAndNextBookingsPerItem() {
+        LocalDateTime current = LocalDateTime.now();
+        List<Booking> result = new ArrayList<>();
+        for (Long itemId : randomPage()) {
+            result.addAll(bookingRepository.findItemBookingsStartedBefore(itemId, current,
+                    BookingStateEnum.REJECTED, PageRequest.of(0, 1)));
+            result.addAll(bookingRepository.findItemBookingsStartingAfter(itemId, current,
+                    BookingStateEnum.REJECTED, PageRequest.of(0, 1)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Booking> lastAndNextBookingsForPage() {
+        LocalDateTime current = LocalDateTime.now();
+        List<Long> itemIds = randomPage();
+        List<Booking> result = new ArrayList<>(bookingRepository.findLastBookings(itemIds, current,
+                BookingStateEnum.REJECTED));
+        result.addAll(bookingRepository.findNextBookings(itemIds, current, BookingStateEnum.REJECTED));
+        return result;
+    }
+
+    private List<Long> randomPage() {
+        long first = ThreadLocalRandom.current().nextInt(items - PAGE_SIZE + 1) + 1L;
+        return LongStream.range(first, first + PAGE_SIZE).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int ROWS = 500;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        userService = context.getBean(UserService.class);
+        itemService = context.getBean(ItemService.class);
+        ownerId = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserDto> usersOneByOne() {
+        List<UserDto> users = new ArrayList<>();
+        for (UserDto userDto : nextUsers()) {
+            users.add(userService.saveUser(userDto));
+        }
+        return users;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserDto> usersInBatch() {
+        return userService.saveUsers(nextUsers());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ItemResponseDto> itemsOneByOne() {
+        List<ItemResponseDto> items = new ArrayList<>();
+        for (ItemDto itemDto : nextItems()) {
+            items.add(itemService.saveItem(ownerId, itemDto));
+        }
+        return items;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ItemResponseDto> itemsInBatch() {
+        return itemService.saveItems(ownerId, nextItems());
+    }
+
+    private List<UserDto> nextUsers() {
+        List<UserDto> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long id = sequence.incrementAndGet();
+            users.add(new UserDto(null, "user" + id, "user" + id + "@mail.ru"));
+        }
+        return users;
+    }
+
+    private List<ItemDto> nextItems() {
+        List<ItemDto> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(new ItemDto(null, "item" + sequence.incrementAndGet(), "bulk item", true, null));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final int ITEMS = 50;
+    private static final int COMMENTS = 5;
+
+    private LoggerContext context;
+    private Logger payloadLogger;
+    private Logger accessLogger;
+    private List<ItemResponseDto> ownerItems;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        payloadLogger = context.getLogger("payload");
+        payloadLogger.addAppender(outputAppender("payload"));
+        accessLogger = context.getLogger("access");
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("async-access");
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(outputAppender("access"));
+        asyncAppender.start();
+        accessLogger.addAppender(asyncAppender);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+
+        LocalDateTime now = LocalDateTime.now();
+        ownerItems = new ArrayList<>();
+        for (long i = 1; i <= ITEMS; i++) {
+            List<CommentDto> comments = new ArrayList<>();
+            for (long j = 1; j <= COMMENTS; j++) {
+                comments.add(new CommentDto(j, "comment text number " + j, "author" + j, now));
+            }
+            ownerItems.add(new ItemResponseDto(i, "item" + i, "description of item " + i, true,
+                    new BookingDto(i, now.minusDays(2), now.minusDays(1), 2L, BookingStateEnum.APPROVED, now),
+                    new BookingDto(i + ITEMS, now.plusDays(1), now.plusDays(2), 3L, BookingStateEnum.WAITING, now),
+                    comments, null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void payloadLogging() {
+        payloadLogger.info("Get all owner items with id {} - Started!", 1L);
+        payloadLogger.info("Get all owner items: {} - Finished!", ownerItems);
+    }
+
+    @Benchmark
+    public void payloadLoggingAtDebug() {
+        payloadLogger.debug("Get all owner items with id {} - Started!", 1L);
+        payloadLogger.debug("Get all owner items: {} - Finished!", ownerItems);
+    }
+
+    @Benchmark
+    public void accessLogging() {
+        accessLogger.info("method={} uri={} status={} durationMs={} sqlStatements={} userId={} pathIds={} " +
+                "resultSize={}", "GET", "/items", 200, 3L, 4L, "1", Map.of(), ownerItems.size());
+    }
+
+    private OutputStreamAppender<ILoggingEvent> outputAppender(String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %level %logger %m%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@mail.ru");
+        User booker = new User(2L, "booker", "booker@mail.ru");
+        ItemRequest itemRequest = new ItemRequest(1L, "need a drill", booker, now.minusDays(3));
+        item = new Item(1L, "drill", "cordless drill", true, owner, itemRequest);
+        booking = new Booking(1L, now.minusDays(1), now.plusDays(1), item, booker, BookingStateEnum.APPROVED,
+                now.minusDays(2));
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingDtoResponse() {
+        return BookingMapper.toBookingDtoResponse(booking);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDto() {
+        return ItemMapper.toItemResponseDto(item);
+    }
+}
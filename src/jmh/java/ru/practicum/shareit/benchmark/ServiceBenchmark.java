@@ -0,0 +1,155 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.enums.RequestStateEnum;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "grill"};
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000"})
+    private int items;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"42"})
+    private long seed;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Long> itemOwnerIds = new ArrayList<>();
+    private final List<Long> ownerIds = new ArrayList<>();
+    private final List<Long> bookerIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed(new Random(seed));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(Random random) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, items / 10); i++) {
+            owners.add(new User(null, "owner" + i, "owner" + i + "@mail.ru"));
+        }
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bookers.add(new User(null, "booker" + i, "booker" + i + "@mail.ru"));
+        }
+        userRepository.saveAll(owners).forEach(owner -> ownerIds.add(owner.getId()));
+        userRepository.saveAll(bookers).forEach(booker -> bookerIds.add(booker.getId()));
+
+        List<Item> newItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            newItems.add(new Item(null, word + " " + i, "well kept " + word, true,
+                    owners.get(random.nextInt(owners.size())), null));
+        }
+        ItemSearchEngine itemSearchEngine = context.getBean(ItemSearchEngine.class);
+        for (Item item : itemRepository.saveAll(newItems)) {
+            itemSearchEngine.index(item);
+            itemIds.add(item.getId());
+            itemOwnerIds.add(item.getOwner().getId());
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : newItems) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                User booker = bookers.get(random.nextInt(bookers.size()));
+                LocalDateTime start = now.plusDays(2L * i - bookingsPerItem);
+                bookings.add(new Booking(null, start, start.plusDays(1), item, booker, BookingStateEnum.APPROVED,
+                        start.minusDays(1)));
+                if (start.isBefore(now) && random.nextInt(4) == 0) {
+                    comments.add(new Comment(null, "thanks for the " + item.getName(), item, booker, start));
+                }
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+
+    @Benchmark
+    public ItemResponseDto getItem() {
+        int index = ThreadLocalRandom.current().nextInt(itemIds.size());
+        return itemService.getItem(itemOwnerIds.get(index), itemIds.get(index));
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getAllOwnerItems() {
+        return itemService.getAllOwnerItems(randomOf(ownerIds), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchItem() {
+        return itemService.searchItem(randomOf(bookerIds),
+                WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)], 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getAllUserBookings() {
+        return bookingService.getAllUserBookings(randomOf(bookerIds), RequestStateEnum.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getAllItemsBooking() {
+        return bookingService.getAllItemsBooking(randomOf(ownerIds), RequestStateEnum.ALL, 0, PAGE_SIZE);
+    }
+
+    private Long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Fixture {
+    private final List<Long> userIds = new CopyOnWriteArrayList<>();
+    private final List<Long> itemIds = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> itemOwners = new ConcurrentHashMap<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public void addUser(Long userId) {
+        userIds.add(userId);
+    }
+
+    public void addItem(Long itemId, Long ownerId) {
+        itemIds.add(itemId);
+        itemOwners.put(itemId, ownerId);
+    }
+
+    public void addWaitingBooking(Long bookingId, Long ownerId) {
+        waitingBookings.add(new long[]{bookingId, ownerId});
+    }
+
+    public long[] pollWaitingBooking() {
+        return waitingBookings.poll();
+    }
+
+    public Long randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    public Long randomItem() {
+        return itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+    }
+
+    public Long ownerOf(Long itemId) {
+        return itemOwners.get(itemId);
+    }
+
+    public Long randomUserExcept(Long userId) {
+        Long candidate = randomUser();
+        while (userIds.size() > 1 && candidate.equals(userId)) {
+            candidate = randomUser();
+        }
+        return candidate;
+    }
+
+    public long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+}
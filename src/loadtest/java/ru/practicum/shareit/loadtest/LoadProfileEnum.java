@@ -0,0 +1,17 @@
+package ru.practicum.shareit.loadtest;
+
+public enum LoadProfileEnum {
+    READ_HEAVY(0.95),
+    MIXED(0.75),
+    WRITE_HEAVY(0.4);
+
+    private final double readShare;
+
+    LoadProfileEnum(double readShare) {
+        this.readShare = readShare;
+    }
+
+    public double getReadShare() {
+        return readShare;
+    }
+}
@@ -0,0 +1,308 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "grill"};
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Fixture fixture = new Fixture();
+    private final Random random;
+    private final List<Scenario> reads = new ArrayList<>();
+    private final List<Scenario> writes = new ArrayList<>();
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.executor = Executors.newFixedThreadPool(config.getConcurrency());
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.random = new Random(config.getSeed());
+        registerScenarios();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("Load test " + config);
+        new LoadTest(config).run();
+    }
+
+    public void run() throws InterruptedException {
+        try {
+            prepareFixture();
+            drive(config.getWarmup(), false);
+            drive(config.getDuration(), true);
+            report();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void registerScenarios() {
+        reads.add(Scenario.read("users.get", 10, f -> get("/users/" + f.randomUser(), null)));
+        reads.add(Scenario.read("items.get", 20, f -> get("/items/" + f.randomItem(), f.randomUser())));
+        reads.add(Scenario.read("items.owner", 10, f -> get("/items?from=0&size=20", f.randomUser())));
+        reads.add(Scenario.read("items.search", 15, f -> get("/items/search?from=0&size=20&text=" + word(),
+                f.randomUser())));
+        reads.add(Scenario.read("items.availability", 5, f -> get("/items/" + f.randomItem() + "/availability" +
+                "?start=" + LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS) +
+                "&end=" + LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.SECONDS), f.randomUser())));
+        reads.add(Scenario.read("bookings.booker", 10, f -> get("/bookings?state=ALL&from=0&size=20",
+                f.randomUser())));
+        reads.add(Scenario.read("bookings.owner", 10, f -> get("/bookings/owner?state=ALL&from=0&size=20",
+                f.randomUser())));
+        reads.add(Scenario.read("requests.own", 5, f -> get("/requests", f.randomUser())));
+        reads.add(Scenario.read("requests.all", 5, f -> get("/requests/all?from=0&size=20", f.randomUser())));
+
+        writes.add(Scenario.write("users.create", 5, f -> post("/users", null, user(f.nextSequence())),
+                (f, response) -> f.addUser(id(response))));
+        writes.add(Scenario.write("items.create", 10, f -> {
+            Long ownerId = f.randomUser();
+            return post("/items", ownerId, item(f.nextSequence()));
+        }, (f, response) -> f.addItem(id(response), Long.valueOf(response.request().headers()
+                .firstValue(USER_HEADER).orElseThrow()))));
+        writes.add(Scenario.write("items.update", 10, f -> {
+            Long itemId = f.randomItem();
+            ObjectNode body = objectMapper.createObjectNode().put("description", "updated " + word());
+            return patch("/items/" + itemId, f.ownerOf(itemId), body);
+        }, (f, response) -> {
+        }));
+        writes.add(Scenario.write("bookings.create", 30, f -> {
+            Long itemId = f.randomItem();
+            return post("/bookings", f.randomUserExcept(f.ownerOf(itemId)), booking(itemId, f.nextSequence()));
+        }, (f, response) -> f.addWaitingBooking(id(response), readOwner(response))));
+        writes.add(Scenario.write("bookings.approve", 15, f -> {
+            long[] booking = f.pollWaitingBooking();
+            if (booking == null) {
+                return null;
+            }
+            return HttpRequest.newBuilder(uri("/bookings/" + booking[0] + "?approved=true"))
+                    .header(USER_HEADER, String.valueOf(booking[1]))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }, (f, response) -> {
+        }));
+        writes.add(Scenario.write("requests.create", 10, f -> post("/requests", f.randomUser(),
+                objectMapper.createObjectNode().put("description", "looking for a " + word())),
+                (f, response) -> {
+                }));
+        reads.forEach(this::registerMetrics);
+        writes.forEach(this::registerMetrics);
+    }
+
+    private void registerMetrics(Scenario scenario) {
+        latencies.put(scenario.getName(), new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        errors.put(scenario.getName(), new LongAdder());
+    }
+
+    private void prepareFixture() {
+        for (int i = 0; i < config.getUsers(); i++) {
+            Long userId = id(send(post("/users", null, user(fixture.nextSequence()))));
+            fixture.addUser(userId);
+            fixture.addItem(id(send(post("/items", userId, item(fixture.nextSequence())))), userId);
+        }
+        System.out.println("Prepared " + config.getUsers() + " users with one item each");
+    }
+
+    private void drive(Duration duration, boolean record) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(pick(), intended, record);
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Scenario pick() {
+        List<Scenario> pool = random.nextDouble() < config.getProfile().getReadShare() ? reads : writes;
+        int total = pool.stream().mapToInt(Scenario::getWeight).sum();
+        int roll = random.nextInt(total);
+        for (Scenario scenario : pool) {
+            roll -= scenario.getWeight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return pool.get(pool.size() - 1);
+    }
+
+    private void fire(Scenario scenario, long intended, boolean record) {
+        HttpRequest request = scenario.getRequest().apply(fixture);
+        if (request == null) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            try {
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                if (success) {
+                    scenario.getOnSuccess().accept(fixture, response);
+                }
+                if (record) {
+                    long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                    latencies.get(scenario.getName()).recordValue(Math.min(latency, MAX_LATENCY_MICROS));
+                    if (!success) {
+                        errors.get(scenario.getName()).increment();
+                    }
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void report() {
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        System.out.printf("%n%-20s %9s %8s %9s %9s %9s %9s %9s%n", "scenario", "requests", "errors", "rps",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long scenarioErrors = errors.get(entry.getKey()).sum();
+            total.add(histogram);
+            totalErrors += scenarioErrors;
+            printRow(entry.getKey(), histogram, scenarioErrors, seconds);
+        }
+        printRow("total", total, totalErrors, seconds);
+    }
+
+    private void printRow(String name, Histogram histogram, long scenarioErrors, double seconds) {
+        System.out.printf("%-20s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                scenarioErrors, histogram.getTotalCount() / seconds, millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException(request.uri() + " answered " + response.statusCode() + ": " +
+                        response.body());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return withUser(HttpRequest.newBuilder(uri(path)), userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, ObjectNode body) {
+        return withUser(HttpRequest.newBuilder(uri(path)), userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest patch(String path, Long userId, ObjectNode body) {
+        return withUser(HttpRequest.newBuilder(uri(path)), userId)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder withUser(HttpRequest.Builder builder, Long userId) {
+        builder.timeout(Duration.ofSeconds(30));
+        return userId == null ? builder : builder.header(USER_HEADER, String.valueOf(userId));
+    }
+
+    private URI uri(String path) {
+        return config.getBaseUrl().resolve(path);
+    }
+
+    private ObjectNode user(long sequence) {
+        return objectMapper.createObjectNode()
+                .put("name", "load user " + sequence)
+                .put("email", "load" + sequence + "-" + config.getSeed() + "-" + System.nanoTime() + "@shareit.test");
+    }
+
+    private ObjectNode item(long sequence) {
+        String word = word();
+        return objectMapper.createObjectNode()
+                .put("name", word + " " + sequence)
+                .put("description", "well kept " + word)
+                .put("available", true);
+    }
+
+    private ObjectNode booking(Long itemId, long sequence) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1).plusHours(3 * sequence);
+        return objectMapper.createObjectNode()
+                .put("itemId", itemId)
+                .put("start", start.toString())
+                .put("end", start.plusHours(2).toString());
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private Long id(HttpResponse<String> response) {
+        return readTree(response).get("id").asLong();
+    }
+
+    private Long readOwner(HttpResponse<String> response) {
+        return fixture.ownerOf(readTree(response).get("item").get("id").asLong());
+    }
+
+    private JsonNode readTree(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Getter
+@ToString
+public class LoadTestConfig {
+    private final URI baseUrl;
+    private final int rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final LoadProfileEnum profile;
+    private final int users;
+    private final int concurrency;
+    private final long seed;
+
+    private LoadTestConfig() {
+        baseUrl = URI.create(System.getProperty("loadtest.baseUrl", "http://localhost:8080"));
+        rate = Integer.getInteger("loadtest.rate", 100);
+        duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60L));
+        warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L));
+        profile = LoadProfileEnum.valueOf(System.getProperty("loadtest.profile", LoadProfileEnum.MIXED.name()));
+        users = Integer.getInteger("loadtest.users", 100);
+        concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        seed = Long.getLong("loadtest.seed", 42L);
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class Scenario {
+    private final String name;
+    private final boolean write;
+    private final int weight;
+    private final Function<Fixture, HttpRequest> request;
+    private final BiConsumer<Fixture, HttpResponse<String>> onSuccess;
+
+    public static Scenario read(String name, int weight, Function<Fixture, HttpRequest> request) {
+        return new Scenario(name, false, weight, request, (fixture, response) -> {
+        });
+    }
+
+    public static Scenario write(String name, int weight, Function<Fixture, HttpRequest> request,
+                                 BiConsumer<Fixture, HttpResponse<String>> onSuccess) {
+        return new Scenario(name, true, weight, request, onSuccess);
+    }
+}
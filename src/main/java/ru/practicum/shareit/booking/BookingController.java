@@ -1,18 +1,24 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.enums.RequestStateEnum;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -21,32 +27,35 @@ import java.util.List;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingResponseDto createBooking(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                             @RequestBody @Valid BookingRequestDto bookingRequestDto) {
-        log.info("Create booking " + ownerId + ": {} - Started!", bookingRequestDto);
+        log.debug("Create booking " + ownerId + ": {} - Started!", bookingRequestDto);
         BookingResponseDto bookingResponseDto = bookingService.saveBooking(ownerId, bookingRequestDto);
-        log.info("Create booking: {} - Finished!", bookingResponseDto);
+        log.debug("Create booking: {} - Finished!", bookingResponseDto);
         return bookingResponseDto;
     }
 
     @PatchMapping("/{bookingId}")
     public BookingResponseDto considerBooking(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                               @RequestParam @NotNull Boolean approved, @PathVariable Long bookingId) {
-        log.info("Consider approve booking: {} - Started!", approved);
+        log.debug("Consider approve booking: {} - Started!", approved);
         BookingResponseDto bookingResponseDto = bookingService.considerBooking(ownerId, approved, bookingId);
-        log.info("Consider approve booking: {} - Finished!", bookingResponseDto);
+        log.debug("Consider approve booking: {} - Finished!", bookingResponseDto);
         return bookingResponseDto;
     }
 
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBooking(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long userId,
                                          @PathVariable Long bookingId) {
-        log.info("Get booking: {} - Started!", bookingId);
+        log.debug("Get booking: {} - Started!", bookingId);
         BookingResponseDto bookingResponseDto = bookingService.getBooking(userId, bookingId);
-        log.info("Get booking: {} - Finished!", bookingResponseDto);
+        log.debug("Get booking: {} - Finished!", bookingResponseDto);
         return bookingResponseDto;
     }
 
@@ -55,9 +64,9 @@ public class BookingController {
                                                        @RequestParam(defaultValue = "ALL") RequestStateEnum state,
                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                        @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all user bookings: {} - Started!", userId);
+        log.debug("Get all user bookings: {} - Started!", userId);
         List<BookingResponseDto> bookingResponseDto = bookingService.getAllUserBookings(userId, state, from, size);
-        log.info("Get all user bookings: {} - Finished!", bookingResponseDto);
+        log.debug("Get all user bookings: {} - Finished!", bookingResponseDto);
         return bookingResponseDto;
     }
 
@@ -66,9 +75,80 @@ public class BookingController {
                                                        @RequestParam(defaultValue = "ALL") RequestStateEnum state,
                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                        @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all user items booking: {} and {} - Started!", userId, state);
+        log.debug("Get all user items booking: {} and {} - Started!", userId, state);
         List<BookingResponseDto> bookingResponseDto = bookingService.getAllItemsBooking(userId, state, from, size);
-        log.info("Get all user items booking: {} - Finished!", bookingResponseDto);
+        log.debug("Get all user items booking: {} - Finished!", bookingResponseDto);
         return bookingResponseDto;
     }
+
+    @GetMapping("/cursor")
+    public BookingCursorPageDto getUserBookingsByCursor(
+            @RequestHeader(value = "X-Sharer-User-Id") @NotNull Long userId,
+            @RequestParam(defaultValue = "ALL") RequestStateEnum state,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("Get user bookings by cursor: {} and {} - Started!", userId, state);
+        BookingCursorPageDto bookingPage = bookingService.getUserBookingsByCursor(userId, state, cursor, size);
+        log.debug("Get user bookings by cursor: {} - Finished!", bookingPage);
+        return bookingPage;
+    }
+
+    @GetMapping("/owner/cursor")
+    public BookingCursorPageDto getItemsBookingByCursor(
+            @RequestHeader(value = "X-Sharer-User-Id") @NotNull Long userId,
+            @RequestParam(defaultValue = "ALL") RequestStateEnum state,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("Get user items booking by cursor: {} and {} - Started!", userId, state);
+        BookingCursorPageDto bookingPage = bookingService.getItemsBookingByCursor(userId, state, cursor, size);
+        log.debug("Get user items booking by cursor: {} - Finished!", bookingPage);
+        return bookingPage;
+    }
+
+    @GetMapping("/export")
+    public void exportUserBookings(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long userId,
+                                   HttpServletResponse response) throws IOException {
+        log.debug("Export user bookings: {} - Started!", userId);
+        response.setContentType(NDJSON);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            bookingService.exportUserBookings(userId, booking -> writeLine(outputStream, booking));
+        } catch (RuntimeException e) {
+            resetUncommitted(response);
+            throw e;
+        }
+        outputStream.flush();
+        log.debug("Export user bookings: {} - Finished!", userId);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportItemsBooking(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long userId,
+                                   HttpServletResponse response) throws IOException {
+        log.debug("Export user items booking: {} - Started!", userId);
+        response.setContentType(NDJSON);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            bookingService.exportItemsBooking(userId, booking -> writeLine(outputStream, booking));
+        } catch (RuntimeException e) {
+            resetUncommitted(response);
+            throw e;
+        }
+        outputStream.flush();
+        log.debug("Export user items booking: {} - Finished!", userId);
+    }
+
+    private void resetUncommitted(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.reset();
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, BookingResponseDto booking) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(booking));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
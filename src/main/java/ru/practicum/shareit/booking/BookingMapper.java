@@ -11,6 +11,7 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 public class BookingMapper {
 
@@ -21,7 +22,7 @@ public class BookingMapper {
                 .item(item)
                 .booker(booker)
                 .status(BookingStateEnum.WAITING)
-                .creationTime(LocalDateTime.now())
+                .creationTime(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
     }
 
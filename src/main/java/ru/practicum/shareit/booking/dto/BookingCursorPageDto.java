@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class BookingCursorPageDto {
+    private List<BookingResponseDto> bookings;
+    private String nextCursor;
+}
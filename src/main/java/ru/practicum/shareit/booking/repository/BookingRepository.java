@@ -1,45 +1,173 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.BookingStateEnum;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String BOOKER_AFTER_CURSOR = "select b from Booking b " +
+            "where b.booker = ?1 " +
+            "and (b.creationTime < ?2 or (b.creationTime = ?2 and b.id < ?3)) ";
+    String OWNER_BOOKINGS = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner = ?1 ";
+    int EXPORT_FETCH_SIZE = 500;
+    String OWNER_AFTER_CURSOR = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner = ?1 " +
+            "and (b.creationTime < ?2 or (b.creationTime = ?2 and b.id < ?3)) ";
 
-    Page<Booking> findByBooker(User user, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBooker(User user, Pageable page);
 
-    Page<Booking> findByBookerAndEndBefore(User user, LocalDateTime current, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerAndEndBefore(User user, LocalDateTime current, Pageable page);
 
-    Page<Booking> findByBookerAndStartAfter(User user, LocalDateTime current, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerAndStartAfter(User user, LocalDateTime current, Pageable page);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("select b from Booking b " +
             "where b.booker = ?1 " +
             "and (?2 between b.start and b.end " +
             "or ?2 = b.start)")
-    Page<Booking> findAllWithCurrentState(User user, LocalDateTime current, Pageable page);
+    Slice<Booking> findAllWithCurrentState(User user, LocalDateTime current, Pageable page);
 
-    Page<Booking> findByItem_Owner(User owner, Pageable page);
+    @Query(OWNER_BOOKINGS)
+    Slice<Booking> findByItem_Owner(User owner, Pageable page);
 
-    Page<Booking> findByItem_OwnerAndEndBefore(User owner, LocalDateTime current, Pageable page);
+    @Query(OWNER_BOOKINGS + "and b.end < ?2")
+    Slice<Booking> findByItem_OwnerAndEndBefore(User owner, LocalDateTime current, Pageable page);
 
-    Page<Booking> findByItem_OwnerAndStartAfter(User user, LocalDateTime current, Pageable page);
+    @Query(OWNER_BOOKINGS + "and b.start > ?2")
+    Slice<Booking> findByItem_OwnerAndStartAfter(User user, LocalDateTime current, Pageable page);
 
-    @Query("select b from Booking b " +
-            "where b.item.owner = ?1 " +
-            "and ?2 between b.start and b.end")
-    Page<Booking> findAllItemsBookingWithCurrentState(User user, LocalDateTime current, Pageable page);
+    @Query(OWNER_BOOKINGS + "and ?2 between b.start and b.end")
+    Slice<Booking> findAllItemsBookingWithCurrentState(User user, LocalDateTime current, Pageable page);
 
+    @Query("select b from Booking b where b.item.id = ?1")
     List<Booking> findByItem_Id(Long itemId, Sort sort);
 
-    Page<Booking> findByBookerAndStatus(User user, BookingStateEnum waiting, Pageable page);
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status in ?2 " +
+            "and b.start < ?4 " +
+            "and b.end > ?3")
+    List<Booking> findOverlapping(Collection<Long> itemIds, Collection<BookingStateEnum> statuses,
+                                  LocalDateTime start, LocalDateTime end, Sort sort);
+
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.status in ?2 " +
+            "and b.start < ?4 " +
+            "and b.end > ?3")
+    boolean existsOverlapping(Long itemId, Collection<BookingStateEnum> statuses, LocalDateTime start,
+                              LocalDateTime end);
+
+    @Query("select b from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.start < ?2 " +
+            "and b.status <> ?3 " +
+            "order by b.start desc")
+    List<Booking> findItemBookingsStartedBefore(Long itemId, LocalDateTime current, BookingStateEnum status,
+                                                Pageable page);
+
+    @Query("select b from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.start > ?2 " +
+            "and b.status <> ?3 " +
+            "order by b.start asc")
+    List<Booking> findItemBookingsStartingAfter(Long itemId, LocalDateTime current, BookingStateEnum status,
+                                                Pageable page);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status <> ?3 " +
+            "and b.start = (select max(lb.start) from Booking lb " +
+            "where lb.item = b.item and lb.start < ?2 and lb.status <> ?3)")
+    List<Booking> findLastBookings(Collection<Long> itemIds, LocalDateTime current, BookingStateEnum status);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status <> ?3 " +
+            "and b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item = b.item and nb.start > ?2 and nb.status <> ?3)")
+    List<Booking> findNextBookings(Collection<Long> itemIds, LocalDateTime current, BookingStateEnum status);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerAndStatus(User user, BookingStateEnum waiting, Pageable page);
+
+    @Query(OWNER_BOOKINGS + "and b.status = ?2")
+    Slice<Booking> findByItem_OwnerAndStatus(User user, BookingStateEnum waiting, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_AFTER_CURSOR)
+    List<Booking> findByBookerAfterCursor(User user, LocalDateTime cursorTime, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_AFTER_CURSOR + "and b.end < ?4")
+    List<Booking> findPastByBookerAfterCursor(User user, LocalDateTime cursorTime, Long cursorId,
+                                              LocalDateTime current, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_AFTER_CURSOR + "and b.start > ?4")
+    List<Booking> findFutureByBookerAfterCursor(User user, LocalDateTime cursorTime, Long cursorId,
+                                                LocalDateTime current, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_AFTER_CURSOR + "and ?4 between b.start and b.end")
+    List<Booking> findCurrentByBookerAfterCursor(User user, LocalDateTime cursorTime, Long cursorId,
+                                                 LocalDateTime current, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_AFTER_CURSOR + "and b.status = ?4")
+    List<Booking> findByBookerAndStatusAfterCursor(User user, LocalDateTime cursorTime, Long cursorId,
+                                                   BookingStateEnum status, Pageable page);
+
+    @Query(OWNER_AFTER_CURSOR)
+    List<Booking> findByItemOwnerAfterCursor(User owner, LocalDateTime cursorTime, Long cursorId, Pageable page);
+
+    @Query(OWNER_AFTER_CURSOR + "and b.end < ?4")
+    List<Booking> findPastByItemOwnerAfterCursor(User owner, LocalDateTime cursorTime, Long cursorId,
+                                                 LocalDateTime current, Pageable page);
+
+    @Query(OWNER_AFTER_CURSOR + "and b.start > ?4")
+    List<Booking> findFutureByItemOwnerAfterCursor(User owner, LocalDateTime cursorTime, Long cursorId,
+                                                   LocalDateTime current, Pageable page);
+
+    @Query(OWNER_AFTER_CURSOR + "and ?4 between b.start and b.end")
+    List<Booking> findCurrentByItemOwnerAfterCursor(User owner, LocalDateTime cursorTime, Long cursorId,
+                                                    LocalDateTime current, Pageable page);
+
+    @Query(OWNER_AFTER_CURSOR + "and b.status = ?4")
+    List<Booking> findByItemOwnerAndStatusAfterCursor(User owner, LocalDateTime cursorTime, Long cursorId,
+                                                      BookingStateEnum status, Pageable page);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker = ?1 " +
+            "order by b.creationTime desc, b.id desc")
+    Stream<Booking> streamByBooker(User user);
 
-    Page<Booking> findByItem_OwnerAndStatus(User user, BookingStateEnum waiting, Pageable page);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner = ?1 " +
+            "order by b.creationTime desc, b.id desc")
+    Stream<Booking> streamByItemOwner(User owner);
 }
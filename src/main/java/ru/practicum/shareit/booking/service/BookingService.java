@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.enums.RequestStateEnum;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto saveBooking(Long ownerId, BookingRequestDto bookingRequestDto);
@@ -16,4 +18,12 @@ public interface BookingService {
     List<BookingResponseDto> getAllUserBookings(Long userId, RequestStateEnum state, Integer from, Integer size);
 
     List<BookingResponseDto> getAllItemsBooking(Long userId, RequestStateEnum state, Integer from, Integer size);
+
+    BookingCursorPageDto getUserBookingsByCursor(Long userId, RequestStateEnum state, String cursor, Integer size);
+
+    BookingCursorPageDto getItemsBookingByCursor(Long userId, RequestStateEnum state, String cursor, Integer size);
+
+    void exportUserBookings(Long userId, Consumer<BookingResponseDto> results);
+
+    void exportItemsBooking(Long userId, Consumer<BookingResponseDto> results);
 }
@@ -1,46 +1,67 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.enums.EntityTypeEnum;
 import ru.practicum.shareit.enums.RequestStateEnum;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.events.EntityChangedEvent;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Validated
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceChecker userExistenceChecker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${shareit.booking.lock-item-on-create:false}")
+    private boolean lockItemOnBooking;
 
     @Override
+    @Transactional
     public BookingResponseDto saveBooking(Long ownerId, BookingRequestDto bookingRequestDto) {
-        User booker = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + ownerId + " not found"));
-        Item item = itemRepository.findById(bookingRequestDto.getItemId())
-                .orElseThrow(() ->
-                        new NotFoundException("Item with id - " + bookingRequestDto.getItemId() + " not found"));
+        User booker = getExistingUserReference(ownerId);
+        Long itemId = bookingRequestDto.getItemId();
+        Item item = (lockItemOnBooking ? itemRepository.findByIdForUpdate(itemId) : itemRepository.findById(itemId))
+                .orElseThrow(() -> new NotFoundException("Item with id - " + itemId + " not found"));
         if (ownerId.equals(item.getOwner().getId())) {
             throw new NotFoundException("Owner can't book his own item");
         }
@@ -51,20 +72,36 @@ public class BookingServiceImpl implements BookingService {
                 bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
             throw new BadRequestException("Timestamps must not be equal or end before start");
         }
-        Booking booking = BookingMapper.toBooking(booker, item, bookingRequestDto);
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        if (lockItemOnBooking && bookingRepository.existsOverlapping(itemId,
+                List.of(BookingStateEnum.WAITING, BookingStateEnum.APPROVED),
+                bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            throw alreadyBooked(bookingRequestDto);
+        }
+        Booking booking;
+        try {
+            booking = bookingRepository.save(BookingMapper.toBooking(booker, item, bookingRequestDto));
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyBooked(bookingRequestDto);
+        }
+        publishBookingChanged(booking);
+        return BookingMapper.toBookingDtoResponse(booking);
+    }
+
+    private BadRequestException alreadyBooked(BookingRequestDto bookingRequestDto) {
+        return new BadRequestException("Item " + bookingRequestDto.getItemId() + " is already booked from " +
+                bookingRequestDto.getStart() + " to " + bookingRequestDto.getEnd());
     }
 
     @Override
     public BookingResponseDto considerBooking(Long ownerId, Boolean approved, Long bookingId) {
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + ownerId + " not found"));
+        checkUserExists(ownerId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking with id - " + bookingId + " not found"));
         if (!booking.getStatus().equals(BookingStateEnum.WAITING)) {
             throw new BadRequestException("Owner can't change booking status after its considering");
         }
-        if (!user.equals(booking.getItem().getOwner())) {
+        if (!ownerId.equals(booking.getItem().getOwner().getId())) {
             throw new NotFoundException("Requester and booking owner not equals");
         }
         if (approved) {
@@ -72,16 +109,33 @@ public class BookingServiceImpl implements BookingService {
         } else {
             booking.setStatus(BookingStateEnum.REJECTED);
         }
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        booking = bookingRepository.save(booking);
+        publishBookingChanged(booking);
+        return BookingMapper.toBookingDtoResponse(booking);
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userExistenceChecker.exists(userId)) {
+            throw new NotFoundException("User with id - " + userId + " not found");
+        }
+    }
+
+    private User getExistingUserReference(Long userId) {
+        checkUserExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    private void publishBookingChanged(Booking booking) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.BOOKING, booking.getId(),
+                booking.getItem().getId()));
     }
 
     @Override
     public BookingResponseDto getBooking(Long userId, Long bookingId) {
-        User requester = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + userId + " not found"));
+        checkUserExists(userId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking with id - " + bookingId + " not found"));
-        if (!requester.equals(booking.getBooker()) && !requester.equals(booking.getItem().getOwner())) {
+        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
             throw new NotFoundException("Requester and booking or item owner not equals");
         }
         return BookingMapper.toBookingDtoResponse(booking);
@@ -89,8 +143,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getAllUserBookings(Long userId, RequestStateEnum state, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + userId + " not found"));
+        User user = getExistingUserReference(userId);
         List<BookingResponseDto> resultList = new ArrayList<>();
         Sort sort = Sort.by(Sort.Direction.DESC, "creationTime");
         Pageable page = PageRequest.of(from / size, size, sort);
@@ -137,9 +190,8 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getAllItemsBooking(Long userId, RequestStateEnum state, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + userId + " not found"));
-        if (itemRepository.countByOwner(user) == 0) {
+        User user = getExistingUserReference(userId);
+        if (!itemRepository.existsByOwner(user)) {
             return Collections.emptyList();
         }
         List<BookingResponseDto> resultList = new ArrayList<>();
@@ -186,4 +238,124 @@ public class BookingServiceImpl implements BookingService {
         }
         return resultList;
     }
+
+    @Override
+    public BookingCursorPageDto getUserBookingsByCursor(Long userId, RequestStateEnum state, String cursor,
+                                                        Integer size) {
+        User user = getExistingUserReference(userId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Pageable page = toCursorPage(pageSize);
+        List<Booking> bookings;
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByBookerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByBookerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByBookerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findByBookerAndStatusAfterCursor(user, after.getCreationTime(),
+                        after.getId(), BookingStateEnum.WAITING, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findByBookerAndStatusAfterCursor(user, after.getCreationTime(),
+                        after.getId(), BookingStateEnum.REJECTED, page);
+                break;
+            default:
+                bookings = bookingRepository.findByBookerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), page);
+        }
+        return toCursorPageDto(bookings, pageSize);
+    }
+
+    @Override
+    public BookingCursorPageDto getItemsBookingByCursor(Long userId, RequestStateEnum state, String cursor,
+                                                        Integer size) {
+        User user = getExistingUserReference(userId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Pageable page = toCursorPage(pageSize);
+        List<Booking> bookings;
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByItemOwnerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByItemOwnerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByItemOwnerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), LocalDateTime.now(), page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findByItemOwnerAndStatusAfterCursor(user, after.getCreationTime(),
+                        after.getId(), BookingStateEnum.WAITING, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findByItemOwnerAndStatusAfterCursor(user, after.getCreationTime(),
+                        after.getId(), BookingStateEnum.REJECTED, page);
+                break;
+            default:
+                bookings = bookingRepository.findByItemOwnerAfterCursor(user, after.getCreationTime(),
+                        after.getId(), page);
+        }
+        return toCursorPageDto(bookings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUserBookings(Long userId, Consumer<BookingResponseDto> results) {
+        User user = getExistingUserReference(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamByBooker(user)) {
+            exportBookings(bookings, results);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportItemsBooking(Long userId, Consumer<BookingResponseDto> results) {
+        User user = getExistingUserReference(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamByItemOwner(user)) {
+            exportBookings(bookings, results);
+        }
+    }
+
+    private void exportBookings(Stream<Booking> bookings, Consumer<BookingResponseDto> results) {
+        Iterator<Booking> iterator = bookings.iterator();
+        long exported = 0;
+        while (iterator.hasNext()) {
+            results.accept(BookingMapper.toBookingDtoResponse(iterator.next()));
+            if (++exported % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+    }
+
+    private Pageable toCursorPage(Integer size) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "creationTime").and(Sort.by(Sort.Direction.DESC, "id"));
+        return PageRequest.of(0, size + 1, sort);
+    }
+
+    private BookingCursorPageDto toCursorPageDto(List<Booking> bookings, Integer size) {
+        List<Booking> pageBookings = bookings.size() > size ? bookings.subList(0, size) : bookings;
+        String nextCursor = null;
+        if (bookings.size() > size) {
+            nextCursor = BookingCursor.encode(pageBookings.get(pageBookings.size() - 1));
+        }
+        return BookingCursorPageDto.builder()
+                .bookings(pageBookings.stream()
+                        .map(BookingMapper::toBookingDtoResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
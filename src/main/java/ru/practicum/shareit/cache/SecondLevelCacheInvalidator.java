@@ -0,0 +1,28 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidator {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() != EntityTypeEnum.USER) {
+            return;
+        }
+        if (event.isRemote()) {
+            entityManagerFactory.getCache().evict(User.class, event.getEntityId());
+        }
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.BookingStateEnum;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+@Slf4j
+@Component
+@Profile("generate")
+public class DatasetGenerator implements ApplicationRunner {
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "grill",
+            "projector", "hammer", "scooter", "guitar", "sleeping bag", "stroller", "snowboard", "vacuum"};
+    private static final String[] ADJECTIVES = {"cordless", "compact", "heavy duty", "vintage", "electric",
+            "folding", "waterproof", "professional", "lightweight", "family"};
+    private static final long BOOKING_SPAN_HOURS = 72;
+    private static final long ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int users;
+    private final int requests;
+    private final int items;
+    private final int bookings;
+    private final int comments;
+    private final long seed;
+    private final double skew;
+    private final int batchSize;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+                            @Value("${shareit.dataset.users:10000}") int users,
+                            @Value("${shareit.dataset.requests:2000}") int requests,
+                            @Value("${shareit.dataset.items:50000}") int items,
+                            @Value("${shareit.dataset.bookings:200000}") int bookings,
+                            @Value("${shareit.dataset.comments:50000}") int comments,
+                            @Value("${shareit.dataset.seed:42}") long seed,
+                            @Value("${shareit.dataset.skew:2.5}") double skew,
+                            @Value("${shareit.dataset.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = users;
+        this.requests = requests;
+        this.items = items;
+        this.bookings = bookings;
+        this.comments = comments;
+        this.seed = seed;
+        this.skew = skew;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        clear();
+        generateUsers();
+        generateRequests(random, now);
+        int[] itemOwners = generateItems(random);
+        generateBookingsAndComments(random, now, itemOwners);
+        restartSequences();
+        log.info("Generated dataset with seed {} in {} ms", seed, System.currentTimeMillis() - started);
+    }
+
+    private void clear() {
+        for (String table : List.of("comments", "bookings", "items", "requests", "users")) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    private void generateUsers() {
+        insert("insert into users (id, name, email) values (?, ?, ?)", users,
+                id -> new Object[]{id, "user " + id, "user" + id + "@shareit.test"});
+        log.info("Generated {} users", users);
+    }
+
+    private void generateRequests(Random random, LocalDateTime now) {
+        insert("insert into requests (id, description, requester_id, creation_time) values (?, ?, ?, ?)", requests,
+                id -> new Object[]{id, "looking for a " + phrase(random), skewedId(random, users),
+                        Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))});
+        log.info("Generated {} requests", requests);
+    }
+
+    private int[] generateItems(Random random) {
+        int[] itemOwners = new int[items + 1];
+        insert("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", items, id -> {
+                    itemOwners[id] = skewedId(random, users);
+                    Integer requestId = requests > 0 && random.nextInt(10) == 0 ? random.nextInt(requests) + 1 : null;
+                    return new Object[]{id, WORDS[random.nextInt(WORDS.length)] + " " + id, phrase(random),
+                            random.nextInt(10) != 0, itemOwners[id], requestId};
+                });
+        log.info("Generated {} items", items);
+        return itemOwners;
+    }
+
+    private void generateBookingsAndComments(Random random, LocalDateTime now, int[] itemOwners) {
+        int[] bookingsPerItem = new int[items + 1];
+        for (int i = 0; i < bookings; i++) {
+            bookingsPerItem[skewedId(random, items)]++;
+        }
+        double commentChance = bookings == 0 ? 0 : Math.min(1.0, 2.0 * comments / bookings);
+        List<Object[]> bookingBatch = new ArrayList<>(batchSize);
+        List<Object[]> commentBatch = new ArrayList<>(batchSize);
+        long bookingId = 0;
+        long commentId = 0;
+        for (int itemId = 1; itemId <= items; itemId++) {
+            LocalDateTime cursor = now.minusHours(bookingsPerItem[itemId] * BOOKING_SPAN_HOURS / 2 * 9 / 10);
+            for (int i = 0; i < bookingsPerItem[itemId]; i++) {
+                LocalDateTime start = cursor.plusHours(1 + random.nextInt((int) BOOKING_SPAN_HOURS / 2));
+                LocalDateTime end = start.plusHours(1 + random.nextInt((int) BOOKING_SPAN_HOURS / 2));
+                cursor = end;
+                int bookerId = random.nextInt(users) + 1;
+                if (bookerId == itemOwners[itemId]) {
+                    bookerId = bookerId % users + 1;
+                }
+                BookingStateEnum status = status(random, end.isBefore(now));
+                LocalDateTime created = start.minusHours(1 + random.nextInt(24 * 14));
+                bookingBatch.add(new Object[]{++bookingId, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                        itemId, bookerId, status.name(),
+                        Timestamp.valueOf(created.isAfter(now) ? now : created)});
+                if (status == BookingStateEnum.APPROVED && end.isBefore(now) && commentId < comments
+                        && random.nextDouble() < commentChance) {
+                    commentBatch.add(new Object[]{++commentId, "thanks, the " + phrase(random) + " was great",
+                            itemId, bookerId, Timestamp.valueOf(end.plusHours(1 + random.nextInt(48)))});
+                }
+                flush("insert into bookings (id, start_date, end_date, item_id, booker_id, status, creation_time) " +
+                        "values (?, ?, ?, ?, ?, ?, ?)", bookingBatch, false);
+                flush("insert into comments (id, text, item_id, author_id, creation_time) values (?, ?, ?, ?, ?)",
+                        commentBatch, false);
+            }
+        }
+        flush("insert into bookings (id, start_date, end_date, item_id, booker_id, status, creation_time) " +
+                "values (?, ?, ?, ?, ?, ?, ?)", bookingBatch, true);
+        flush("insert into comments (id, text, item_id, author_id, creation_time) values (?, ?, ?, ?, ?)",
+                commentBatch, true);
+        log.info("Generated {} bookings and {} comments", bookingId, commentId);
+    }
+
+    private BookingStateEnum status(Random random, boolean finished) {
+        int roll = random.nextInt(20);
+        if (finished) {
+            if (roll < 17) {
+                return BookingStateEnum.APPROVED;
+            }
+            return roll < 19 ? BookingStateEnum.REJECTED : BookingStateEnum.CANCELED;
+        }
+        return roll < 8 ? BookingStateEnum.WAITING : BookingStateEnum.APPROVED;
+    }
+
+    private void restartSequences() {
+        restartSequence("users", users);
+        restartSequence("requests", requests);
+        restartSequence("items", items);
+        restartSequence("bookings", jdbcTemplate.queryForObject("select count(*) from bookings", Long.class));
+        restartSequence("comments", jdbcTemplate.queryForObject("select count(*) from comments", Long.class));
+    }
+
+    private void restartSequence(String table, long rows) {
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (rows + ID_ALLOCATION_SIZE));
+    }
+
+    private void insert(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int id = 1; id <= count; id++) {
+            batch.add(row.apply(id));
+            flush(sql, batch, false);
+        }
+        flush(sql, batch, true);
+    }
+
+    private void flush(String sql, List<Object[]> batch, boolean force) {
+        if (batch.isEmpty() || (!force && batch.size() < batchSize)) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+    }
+
+    private int skewedId(Random random, int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), skew)) + 1;
+    }
+
+    private String phrase(Random random) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+}
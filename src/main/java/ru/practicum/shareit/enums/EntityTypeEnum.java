@@ -0,0 +1,8 @@
+package ru.practicum.shareit.enums;
+
+public enum EntityTypeEnum {
+    ITEM,
+    USER,
+    BOOKING,
+    COMMENT
+}
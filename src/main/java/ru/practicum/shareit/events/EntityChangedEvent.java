@@ -0,0 +1,20 @@
+package ru.practicum.shareit.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class EntityChangedEvent {
+    private final EntityTypeEnum entityType;
+    private final Long entityId;
+    private final Long itemId;
+    private final boolean remote;
+
+    public EntityChangedEvent(EntityTypeEnum entityType, Long entityId, Long itemId) {
+        this(entityType, entityId, itemId, false);
+    }
+}
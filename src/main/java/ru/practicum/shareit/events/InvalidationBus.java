@@ -0,0 +1,60 @@
+package ru.practicum.shareit.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class InvalidationBus {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InvalidationBus(InvalidationTransport transport, ApplicationEventPublisher eventPublisher) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        transport.subscribe(this::receive);
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        InvalidationMessage message = new InvalidationMessage(nodeId, event.getEntityType(), event.getEntityId(),
+                event.getItemId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    private void send(InvalidationMessage message) {
+        try {
+            transport.send(message);
+        } catch (RuntimeException e) {
+            log.warn("Invalidation {} was not broadcast", message, e);
+        }
+    }
+
+    private void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        log.debug("Received remote invalidation {}", message);
+        eventPublisher.publishEvent(new EntityChangedEvent(message.getEntityType(), message.getEntityId(),
+                message.getItemId(), true));
+    }
+}
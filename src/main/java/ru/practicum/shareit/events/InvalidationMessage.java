@@ -0,0 +1,18 @@
+package ru.practicum.shareit.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class InvalidationMessage {
+    private String nodeId;
+    private EntityTypeEnum entityType;
+    private Long entityId;
+    private Long itemId;
+}
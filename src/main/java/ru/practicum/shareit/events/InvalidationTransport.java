@@ -0,0 +1,10 @@
+package ru.practicum.shareit.events;
+
+import java.util.function.Consumer;
+
+public interface InvalidationTransport {
+
+    void send(InvalidationMessage message);
+
+    void subscribe(Consumer<InvalidationMessage> subscriber);
+}
@@ -1,19 +1,32 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.markers.Create;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,32 +35,76 @@ import java.util.List;
 @Slf4j
 @Validated
 public class ItemController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemResponseDto createItem(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                       @RequestBody @Validated(Create.class) ItemDto itemDto) {
-        log.info("Create item: {} - Started!", itemDto);
+        log.debug("Create item: {} - Started!", itemDto);
         ItemResponseDto item = itemService.saveItem(ownerId, itemDto);
-        log.info("Create item: {} - Finished!", item);
+        log.debug("Create item: {} - Finished!", item);
         return item;
     }
 
+    @PostMapping("/batch")
+    public List<ItemResponseDto> createItems(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
+                                             @RequestBody List<ItemDto> itemDtoList) {
+        log.debug("Create {} items - Started!", itemDtoList.size());
+        List<ItemResponseDto> items = itemService.saveItems(ownerId, itemDtoList);
+        log.debug("Create items: {} - Finished!", items);
+        return items;
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public void importItems(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Import items for owner {} - Started!", ownerId);
+        response.setContentType(NDJSON);
+        OutputStream outputStream = response.getOutputStream();
+        try (MappingIterator<ItemDto> rows = objectMapper.readerFor(ItemDto.class)
+                .readValues(request.getInputStream())) {
+            itemService.importItems(ownerId, rows, result -> writeLine(outputStream, result));
+        } catch (RuntimeException e) {
+            resetUncommitted(response);
+            throw e;
+        }
+        outputStream.flush();
+        log.debug("Import items for owner {} - Finished!", ownerId);
+    }
+
+    private void resetUncommitted(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.reset();
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, ItemImportResultDto result) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(@RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId,
                                       @RequestBody ItemDto itemDto,
                                       @PathVariable Long itemId) {
-        log.info("Update item: {} - Started!", itemDto);
+        log.debug("Update item: {} - Started!", itemDto);
         ItemResponseDto item = itemService.updateItem(ownerId, itemDto, itemId);
-        log.info("Update item: {} - Finished!", item);
+        log.debug("Update item: {} - Finished!", item);
         return item;
     }
 
     @GetMapping("/{itemId}")
     public ItemResponseDto getItem(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId, @PathVariable Long itemId) {
-        log.info("Get item with id {} - Started!", itemId);
+        log.debug("Get item with id {} - Started!", itemId);
         ItemResponseDto item = itemService.getItem(userId, itemId);
-        log.info("Get item: {} - Finished!", item);
+        log.debug("Get item: {} - Finished!", item);
         return item;
     }
 
@@ -55,9 +112,9 @@ public class ItemController {
     public List<ItemResponseDto> getAllOwnerItems(@RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId,
                                                   @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                   @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all owner items with id {} - Started!", ownerId);
+        log.debug("Get all owner items with id {} - Started!", ownerId);
         List<ItemResponseDto> ownerItems = itemService.getAllOwnerItems(ownerId, from, size);
-        log.info("Get all owner items: {} - Finished!", ownerItems);
+        log.debug("Get all owner items: {} - Finished!", ownerItems);
         return ownerItems;
     }
 
@@ -66,18 +123,42 @@ public class ItemController {
                                             @RequestParam String text,
                                             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                             @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Search items with text {} - Started!", text);
+        log.debug("Search items with text {} - Started!", text);
         List<ItemResponseDto> searchedItems = itemService.searchItem(userId, text, from, size);
-        log.info("Search items: {} - Finished!", searchedItems);
+        log.debug("Search items: {} - Finished!", searchedItems);
         return searchedItems;
     }
 
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") Long ownerId, @PathVariable Long itemId,
                                  @RequestBody @Valid CommentDto commentDto) {
-        log.info("Add comment: {} - Started!", commentDto);
+        log.debug("Add comment: {} - Started!", commentDto);
         CommentDto responseCommentDto = itemService.addComment(ownerId, itemId, commentDto);
-        log.info("Add comment: {} - Finished!", responseCommentDto);
+        log.debug("Add comment: {} - Finished!", responseCommentDto);
         return responseCommentDto;
     }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.debug("Get item {} availability from {} to {} - Started!", itemId, start, end);
+        ItemAvailabilityDto availability = itemService.getAvailability(userId, List.of(itemId), start, end).get(0);
+        log.debug("Get item availability: {} - Finished!", availability);
+        return availability;
+    }
+
+    @GetMapping("/availability")
+    public List<ItemAvailabilityDto> getItemsAvailability(
+            @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+            @RequestParam @NotEmpty List<Long> ids,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.debug("Get items {} availability from {} to {} - Started!", ids, start, end);
+        List<ItemAvailabilityDto> availability = itemService.getAvailability(userId, ids, start, end);
+        log.debug("Get items availability: {} - Finished!", availability);
+        return availability;
+    }
 }
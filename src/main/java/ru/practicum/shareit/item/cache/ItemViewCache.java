@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.events.EntityChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Component
+public class ItemViewCache {
+    private final Cache<Long, CachedItemView> cache;
+    private final Duration ttl;
+
+    public ItemViewCache(@Value("${shareit.item.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.item.cache.ttl-seconds:60}") long ttlSeconds,
+                         ObjectProvider<MeterRegistry> meterRegistry,
+                         ObjectProvider<Ticker> ticker) {
+        ttl = Duration.ofSeconds(ttlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker.getIfAvailable(Ticker::systemTicker))
+                .expireAfter(new Expiry<Long, CachedItemView>() {
+                    @Override
+                    public long expireAfterCreate(Long itemId, CachedItemView itemView, long currentTime) {
+                        return expiresAfter(itemView);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long itemId, CachedItemView itemView, long currentTime,
+                                                  long currentDuration) {
+                        return expiresAfter(itemView);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long itemId, CachedItemView itemView, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "itemView"));
+    }
+
+    private long expiresAfter(CachedItemView itemView) {
+        BookingDto nextBooking = itemView.getView().getNextBooking();
+        if (nextBooking == null) {
+            return ttl.toNanos();
+        }
+        Duration untilNextBooking = Duration.between(LocalDateTime.now(), nextBooking.getStart());
+        if (untilNextBooking.isNegative()) {
+            return 0;
+        }
+        return untilNextBooking.compareTo(ttl) < 0 ? untilNextBooking.toNanos() : ttl.toNanos();
+    }
+
+    public CachedItemView get(Long itemId, Function<Long, CachedItemView> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void evict(Long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        Long itemId = event.getItemId();
+        if (itemId == null) {
+            return;
+        }
+        evict(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(itemId);
+                }
+            });
+        }
+    }
+}
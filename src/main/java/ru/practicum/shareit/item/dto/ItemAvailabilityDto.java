@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private List<TimeIntervalDto> busy;
+    private List<TimeIntervalDto> free;
+}
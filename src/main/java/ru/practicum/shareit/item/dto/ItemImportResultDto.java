@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class ItemImportResultDto {
+    private Long row;
+    private Long id;
+    private String name;
+    private String error;
+}
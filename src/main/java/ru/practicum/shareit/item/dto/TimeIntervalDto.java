@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class TimeIntervalDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -14,7 +14,8 @@ import javax.persistence.*;
 @Builder
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @EqualsAndHashCode.Exclude
     private Long id;
     @Column(name = "name", nullable = false)
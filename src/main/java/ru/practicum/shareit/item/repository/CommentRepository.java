@@ -2,11 +2,17 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c from Comment c join fetch c.author where c.item.id = ?1")
     List<Comment> findByItem_Id(Long itemId, Sort sort);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id in ?1")
+    List<Comment> findByItem_IdIn(Collection<Long> itemIds, Sort sort);
 }
@@ -1,25 +1,50 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findByOwner_Id(Long ownerId, Pageable page);
+    Slice<Item> findByOwner_Id(Long ownerId, Pageable page);
 
     @Query("select i from Item i " +
             "where i.available = true " +
             "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%')))")
-    Page<Item> search(String searchText, Pageable page);
+    Slice<Item> search(String searchText, Pageable page);
 
-    long countByOwner(User owner);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
 
+    @Query("select i from Item i where i.id > ?1 order by i.id")
+    List<Item> findPageAfterId(Long id, Pageable page);
+
+    boolean existsByOwner(User owner);
+
+    @Query("select i.id from Item i left join i.request r where i.owner.id = ?1 or r.requester.id = ?1")
+    List<Long> findIdsByOwnerOrRequester(Long userId);
+
+    @Query(value = "select item_id from bookings where booker_id = ?1 " +
+            "union select item_id from comments where author_id = ?1", nativeQuery = true)
+    List<Long> findIdsBookedOrCommentedBy(Long userId);
+
+    @Query("select i.id from Item i where i.id in ?1")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Query("select i from Item i where i.request.id = ?1")
     List<Item> findByRequestId(Long id);
+
+    @Query("select i from Item i where i.request.id in ?1")
+    List<Item> findByRequestIdIn(Collection<Long> ids);
 }
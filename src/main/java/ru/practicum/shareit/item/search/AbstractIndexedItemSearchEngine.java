@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+public abstract class AbstractIndexedItemSearchEngine implements ItemSearchEngine {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new ConcurrentHashMap<>();
+    private final Set<Long> staleItemIds = ConcurrentHashMap.newKeySet();
+
+    protected AbstractIndexedItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        staleItemIds.clear();
+        postings.clear();
+        indexedItems.clear();
+        Long lastId = 0L;
+        List<Item> items;
+        do {
+            items = itemRepository.findPageAfterId(lastId, PageRequest.of(0, BATCH_SIZE));
+            items.forEach(this::index);
+            if (!items.isEmpty()) {
+                lastId = items.get(items.size() - 1).getId();
+            }
+        } while (items.size() == BATCH_SIZE);
+        log.info("Item search index {} rebuilt: {} items, {} terms", getClass().getSimpleName(),
+                indexedItems.size(), postings.size());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        Set<String> terms = new HashSet<>(toTerms(name));
+        terms.addAll(toTerms(description));
+        indexedItems.put(item.getId(), new IndexedItem(name, description, terms));
+        terms.forEach(term -> postings
+                .computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet())
+                .add(item.getId()));
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() != EntityTypeEnum.ITEM) {
+            return;
+        }
+        Long itemId = event.getEntityId();
+        staleItemIds.add(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    staleItemIds.add(itemId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<Item> search(String searchText, Pageable page) {
+        refreshStaleItems();
+        String query = normalize(searchText);
+        List<Long> itemIds = findCandidates(query).stream()
+                .filter(itemId -> {
+                    IndexedItem indexedItem = indexedItems.get(itemId);
+                    return indexedItem != null && matches(indexedItem, query);
+                })
+                .sorted()
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    protected abstract Collection<String> toTerms(String text);
+
+    protected abstract Set<Long> findCandidates(String query);
+
+    protected boolean matches(IndexedItem indexedItem, String query) {
+        return indexedItem.getName().contains(query) || indexedItem.getDescription().contains(query);
+    }
+
+    protected Set<Long> findPostings(String term) {
+        return postings.getOrDefault(term, Collections.emptySet());
+    }
+
+    protected Map<String, Set<Long>> getPostings() {
+        return postings;
+    }
+
+    protected Set<Long> getIndexedItemIds() {
+        return indexedItems.keySet();
+    }
+
+    protected Set<Long> intersectPostings(Collection<Set<Long>> termPostings) {
+        Set<Long> candidates = null;
+        for (Set<Long> itemIds : termPostings) {
+            if (candidates == null) {
+                candidates = new HashSet<>(itemIds);
+            } else {
+                candidates.retainAll(itemIds);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates == null ? Collections.emptySet() : candidates;
+    }
+
+    private void refreshStaleItems() {
+        if (staleItemIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            List<Long> itemIds = new ArrayList<>(staleItemIds);
+            staleItemIds.removeAll(itemIds);
+            for (int from = 0; from < itemIds.size(); from += BATCH_SIZE) {
+                List<Long> batch = itemIds.subList(from, Math.min(from + BATCH_SIZE, itemIds.size()));
+                Map<Long, Item> items = itemRepository.findAllById(batch).stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()));
+                batch.forEach(itemId -> {
+                    Item item = items.get(itemId);
+                    if (item == null) {
+                        remove(itemId);
+                    } else {
+                        index(item);
+                    }
+                });
+            }
+        }
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem previous = indexedItems.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        previous.getTerms().forEach(term -> postings.computeIfPresent(term, (key, itemIds) -> {
+            itemIds.remove(itemId);
+            return itemIds.isEmpty() ? null : itemIds;
+        }));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    protected static final class IndexedItem {
+        private final String name;
+        private final String description;
+        private final Set<String> terms;
+
+        private IndexedItem(String name, String description, Set<String> terms) {
+            this.name = name;
+            this.description = description;
+            this.terms = terms;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Set<String> getTerms() {
+            return terms;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.SearchMatchEnum;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "index", matchIfMissing = true)
+public class InvertedIndexItemSearchEngine extends AbstractIndexedItemSearchEngine {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Value("${shareit.item.search.match:SUBSTRING}")
+    private SearchMatchEnum match = SearchMatchEnum.SUBSTRING;
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    protected Collection<String> toTerms(String text) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(text))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected Set<Long> findCandidates(String query) {
+        Collection<String> queryTokens = toTerms(query);
+        if (queryTokens.isEmpty()) {
+            return match == SearchMatchEnum.TOKEN ? Collections.emptySet() : getIndexedItemIds();
+        }
+        return intersectPostings(queryTokens.stream()
+                .map(this::findTokenPostings)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    protected boolean matches(IndexedItem indexedItem, String query) {
+        return match == SearchMatchEnum.TOKEN || super.matches(indexedItem, query);
+    }
+
+    private Set<Long> findTokenPostings(String queryToken) {
+        if (match == SearchMatchEnum.TOKEN) {
+            return findPostings(queryToken);
+        }
+        Set<Long> itemIds = new HashSet<>();
+        getPostings().forEach((token, tokenItemIds) -> {
+            if (token.contains(queryToken)) {
+                itemIds.addAll(tokenItemIds);
+            }
+        });
+        return itemIds;
+    }
+}
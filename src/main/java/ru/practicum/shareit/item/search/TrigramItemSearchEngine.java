@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine extends AbstractIndexedItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    protected Collection<String> toTerms(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    @Override
+    protected Set<Long> findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return getIndexedItemIds();
+        }
+        return intersectPostings(toTerms(query).stream()
+                .map(this::findPostings)
+                .collect(Collectors.toList()));
+    }
+}
@@ -1,14 +1,23 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemResponseDto saveItem(Long ownerId, ItemDto itemDto);
 
+    List<ItemResponseDto> saveItems(Long ownerId, List<ItemDto> itemDtoList);
+
+    void importItems(Long ownerId, Iterator<ItemDto> rows, Consumer<ItemImportResultDto> results);
+
     ItemResponseDto updateItem(Long ownerId, ItemDto itemDto, Long itemId);
 
     ItemResponseDto getItem(Long userId, Long itemId);
@@ -18,4 +27,7 @@ public interface ItemService {
     List<ItemResponseDto> searchItem(Long userId, String searchText, Integer from, Integer size);
 
     CommentDto addComment(Long ownerId, Long itemId, CommentDto commentDto);
+
+    List<ItemAvailabilityDto> getAvailability(Long userId, List<Long> itemIds, LocalDateTime start,
+                                              LocalDateTime end);
 }
@@ -1,34 +1,58 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.cache.CachedItemView;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
+import ru.practicum.shareit.validation.RowValidator;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,24 +64,144 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemViewCache itemViewCache;
+    private final UserExistenceChecker userExistenceChecker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RowValidator rowValidator;
+    private final EntityManager entityManager;
+
+    @Value("${shareit.item.import.batch-size:500}")
+    private int importBatchSize;
 
     @Override
     public ItemResponseDto saveItem(Long ownerId, ItemDto itemDto) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Owner with id " + ownerId + " is not created!"));
+        User owner = getExistingOwnerReference(ownerId);
         ItemRequest itemRequest = null;
         if (itemDto.getRequestId() != null) {
             itemRequest = itemRequestRepository.findById(itemDto.getRequestId())
                     .orElse(null);
         }
-        Item item = ItemMapper.toItem(owner, itemRequest, itemDto);
-        return ItemMapper.toItemResponseDto(itemRepository.save(item));
+        Item item = itemRepository.save(ItemMapper.toItem(owner, itemRequest, itemDto));
+        publishItemChanged(item);
+        return ItemMapper.toItemResponseDto(item);
+    }
+
+    @Override
+    public List<ItemResponseDto> saveItems(Long ownerId, List<ItemDto> itemDtoList) {
+        rowValidator.validateAll(itemDtoList, Create.class);
+        User owner = getExistingOwnerReference(ownerId);
+        Map<Long, ItemRequest> itemRequests = findItemRequests(itemDtoList);
+        List<Item> items = itemDtoList.stream()
+                .map(itemDto -> ItemMapper.toItem(owner, itemRequests.get(itemDto.getRequestId()), itemDto))
+                .collect(Collectors.toList());
+        items.forEach(item -> item.setId(null));
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(this::publishItemChanged);
+        return savedItems.stream()
+                .map(ItemMapper::toItemResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void importItems(Long ownerId, Iterator<ItemDto> rows, Consumer<ItemImportResultDto> results) {
+        User owner = getExistingOwnerReference(ownerId);
+        List<ItemDto> batch = new ArrayList<>(importBatchSize);
+        long firstRow = 0;
+        while (true) {
+            ItemDto itemDto;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                itemDto = rows.next();
+            } catch (RuntimeException e) {
+                importBatch(owner, firstRow, batch, results);
+                results.accept(new ItemImportResultDto(firstRow + batch.size(), null, null,
+                        "Unreadable row: " + e.getMessage()));
+                return;
+            }
+            batch.add(itemDto);
+            if (batch.size() == importBatchSize) {
+                importBatch(owner, firstRow, batch, results);
+                firstRow += batch.size();
+                batch.clear();
+            }
+        }
+        importBatch(owner, firstRow, batch, results);
+    }
+
+    private void importBatch(User owner, long firstRow, List<ItemDto> batch,
+                             Consumer<ItemImportResultDto> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemRequest> itemRequests = findItemRequests(batch);
+        ItemImportResultDto[] batchResults = new ItemImportResultDto[batch.size()];
+        List<Item> items = new ArrayList<>();
+        List<Integer> itemPositions = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ItemDto itemDto = batch.get(i);
+            List<String> violations = rowValidator.getViolations(itemDto, Create.class);
+            if (violations.isEmpty()) {
+                Item item = ItemMapper.toItem(owner, itemRequests.get(itemDto.getRequestId()), itemDto);
+                item.setId(null);
+                items.add(item);
+                itemPositions.add(i);
+            } else {
+                batchResults[i] = new ItemImportResultDto(firstRow + i, null, itemDto.getName(),
+                        String.join(", ", violations));
+            }
+        }
+        try {
+            itemRepository.saveAll(items);
+        } catch (DataIntegrityViolationException e) {
+            items.forEach(item -> item.setId(null));
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                try {
+                    itemRepository.save(item);
+                } catch (DataIntegrityViolationException rowException) {
+                    item.setId(null);
+                    batchResults[itemPositions.get(i)] = new ItemImportResultDto(firstRow + itemPositions.get(i),
+                            null, item.getName(), "Item can't be saved: " + rowException.getMostSpecificCause()
+                            .getMessage());
+                }
+            }
+        }
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.getId() != null) {
+                publishItemChanged(item);
+                batchResults[itemPositions.get(i)] = new ItemImportResultDto(firstRow + itemPositions.get(i),
+                        item.getId(), item.getName(), null);
+            }
+        }
+        entityManager.clear();
+        for (ItemImportResultDto result : batchResults) {
+            results.accept(result);
+        }
+    }
+
+    private void publishItemChanged(Item item) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.ITEM, item.getId(), item.getId()));
+    }
+
+    private Map<Long, ItemRequest> findItemRequests(List<ItemDto> itemDtoList) {
+        Set<Long> requestIds = itemDtoList.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
     }
 
     @Override
     public ItemResponseDto updateItem(Long ownerId, ItemDto itemDto, Long itemId) {
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Owner with id " + ownerId + " is not created!"));
+        checkOwnerExists(ownerId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " is not created!"));
         if (!item.getOwner().getId().equals(ownerId)) {
@@ -72,45 +216,94 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        ItemResponseDto itemDtoResponse = ItemMapper.toItemResponseDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        publishItemChanged(item);
+        ItemResponseDto itemDtoResponse = ItemMapper.toItemResponseDto(item);
         loadBookings(itemDtoResponse);
         loadComments(itemDtoResponse);
         return itemDtoResponse;
     }
 
+    private void checkOwnerExists(Long ownerId) {
+        if (!userExistenceChecker.exists(ownerId)) {
+            throw new NotFoundException("Owner with id " + ownerId + " is not created!");
+        }
+    }
+
+    private User getExistingOwnerReference(Long ownerId) {
+        checkOwnerExists(ownerId);
+        return userRepository.getReferenceById(ownerId);
+    }
+
     @Override
     public ItemResponseDto getItem(Long userId, Long itemId) {
+        CachedItemView cachedItemView = itemViewCache.get(itemId, this::loadItemView);
+        ItemResponseDto view = cachedItemView.getView();
+        List<CommentDto> comments = view.getComments().stream()
+                .map(comment -> comment.toBuilder().build())
+                .collect(Collectors.toList());
+        ItemResponseDto itemResponseDto = new ItemResponseDto(view.getId(), view.getName(), view.getDescription(),
+                view.getAvailable(), null, null, comments, view.getRequestId());
+        if (cachedItemView.getOwnerId().equals(userId)) {
+            itemResponseDto.setLastBooking(copyBooking(view.getLastBooking()));
+            itemResponseDto.setNextBooking(copyBooking(view.getNextBooking()));
+        }
+        return itemResponseDto;
+    }
+
+    private BookingDto copyBooking(BookingDto booking) {
+        return booking == null ? null : booking.toBuilder().build();
+    }
+
+    private CachedItemView loadItemView(Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found!"));
         ItemResponseDto itemResponseDto = ItemMapper.toItemResponseDto(item);
-        if (item.getOwner().getId().equals(userId)) {
-            loadBookings(itemResponseDto);
-        }
-            loadComments(itemResponseDto);
-        return itemResponseDto;
+        loadBookings(itemResponseDto);
+        loadComments(itemResponseDto);
+        return new CachedItemView(item.getOwner().getId(), itemResponseDto);
     }
 
     private void loadBookings(ItemResponseDto itemResponseDto) {
-        Sort sort = Sort.by(Sort.Direction.ASC, "start");
-        List<Booking> bookingList = bookingRepository.findByItem_Id(itemResponseDto.getId(), sort);
-        List<Booking> lastBookingList = bookingList.stream()
-                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) &&
-                        !booking.getStatus().equals(BookingStateEnum.REJECTED))
-                .collect(Collectors.toList());
-        if (!lastBookingList.isEmpty()) {
-            Booking lastBooking = lastBookingList.get(lastBookingList.size() - 1);
-            itemResponseDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+        LocalDateTime current = LocalDateTime.now();
+        bookingRepository.findItemBookingsStartedBefore(itemResponseDto.getId(), current, BookingStateEnum.REJECTED,
+                        PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .ifPresent(booking -> itemResponseDto.setLastBooking(BookingMapper.toBookingDto(booking)));
+        bookingRepository.findItemBookingsStartingAfter(itemResponseDto.getId(), current, BookingStateEnum.REJECTED,
+                        PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .ifPresent(booking -> itemResponseDto.setNextBooking(BookingMapper.toBookingDto(booking)));
+    }
+
+    private void loadBookings(List<ItemResponseDto> itemResponseDtoList) {
+        if (itemResponseDtoList.isEmpty()) {
+            return;
         }
-        List<Booking> nextBookingList = bookingList.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()) &&
-                        !booking.getStatus().equals(BookingStateEnum.REJECTED))
-                .collect(Collectors.toList());
-        if (!nextBookingList.isEmpty()) {
-            Booking nextBooking = nextBookingList.get(0);
-            itemResponseDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
+        List<Long> itemIds = toItemIds(itemResponseDtoList);
+        LocalDateTime current = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = toBookingByItem(bookingRepository
+                .findLastBookings(itemIds, current, BookingStateEnum.REJECTED));
+        Map<Long, Booking> nextBookings = toBookingByItem(bookingRepository
+                .findNextBookings(itemIds, current, BookingStateEnum.REJECTED));
+        for (ItemResponseDto itemResponseDto : itemResponseDtoList) {
+            Booking lastBooking = lastBookings.get(itemResponseDto.getId());
+            if (lastBooking != null) {
+                itemResponseDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+            }
+            Booking nextBooking = nextBookings.get(itemResponseDto.getId());
+            if (nextBooking != null) {
+                itemResponseDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
+            }
         }
     }
 
+    private Map<Long, Booking> toBookingByItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+
     @Override
     public List<ItemResponseDto> getAllOwnerItems(Long ownerId, Integer from, Integer size) {
         if (ownerId == null) {
@@ -118,16 +311,32 @@ public class ItemServiceImpl implements ItemService {
         }
         Sort sort = Sort.by(Sort.Direction.ASC, "id");
         Pageable page = PageRequest.of(from / size, size, sort);
-        return itemRepository.findByOwner_Id(ownerId, page).stream()
+        List<ItemResponseDto> ownerItems = itemRepository.findByOwner_Id(ownerId, page).stream()
                 .map(ItemMapper::toItemResponseDto)
-                .peek(this::loadBookings)
-                .peek(this::loadComments)
                 .collect(Collectors.toList());
+        loadBookings(ownerItems);
+        loadComments(ownerItems);
+        return ownerItems;
     }
 
     private void loadComments(ItemResponseDto itemDto) {
         Sort sort = Sort.by(Sort.Direction.DESC, "creationTime");
-        List<Comment> commentList = commentRepository.findByItem_Id(itemDto.getId(), sort);
+        setComments(itemDto, commentRepository.findByItem_Id(itemDto.getId(), sort));
+    }
+
+    private void loadComments(List<ItemResponseDto> itemDtoList) {
+        if (itemDtoList.isEmpty()) {
+            return;
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, "creationTime");
+        Map<Long, List<Comment>> commentsByItem = commentRepository
+                .findByItem_IdIn(toItemIds(itemDtoList), sort).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        itemDtoList.forEach(itemDto -> setComments(itemDto,
+                commentsByItem.getOrDefault(itemDto.getId(), Collections.emptyList())));
+    }
+
+    private void setComments(ItemResponseDto itemDto, List<Comment> commentList) {
         if (!commentList.isEmpty()) {
             itemDto.setComments(commentList.stream()
                     .map(CommentMapper::toCommentDto)
@@ -137,33 +346,96 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private List<Long> toItemIds(List<ItemResponseDto> itemDtoList) {
+        return itemDtoList.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<ItemResponseDto> searchItem(Long userId, String searchText, Integer from, Integer size) {
         if (searchText.isEmpty()) {
             return Collections.emptyList();
         }
         Pageable page = PageRequest.of(from / size, size);
-        return itemRepository.search(searchText, page).stream()
+        List<ItemResponseDto> searchedItems = itemSearchEngine.search(searchText, page).stream()
                 .map(ItemMapper::toItemResponseDto)
-                .peek(this::loadComments)
                 .collect(Collectors.toList());
+        loadComments(searchedItems);
+        return searchedItems;
     }
 
     @Override
     public CommentDto addComment(Long ownerId, Long itemId, CommentDto commentDto) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Owner with id " + ownerId + " is not created!"));
+        User owner = getExistingOwnerReference(ownerId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " is not created!"));
 
         Sort sort = Sort.by(Sort.Direction.ASC, "start");
         List<Booking> bookings = bookingRepository.findByItem_Id(itemId, sort).stream()
-                .filter(booking -> booking.getBooker().equals(owner) &&
+                .filter(booking -> ownerId.equals(booking.getBooker().getId()) &&
                         booking.getEnd().isBefore(LocalDateTime.now()))
                 .collect(Collectors.toList());
         if (bookings.isEmpty()) {
             throw new BadRequestException("Commentator do not have item bookings or booking is not finished");
         }
-        return CommentMapper.toCommentDto(commentRepository.save(CommentMapper.toComment(owner, item, commentDto)));
+        Comment comment = commentRepository.save(CommentMapper.toComment(owner, item, commentDto));
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.COMMENT, comment.getId(), itemId));
+        return CommentMapper.toCommentDto(comment);
+    }
+
+    @Override
+    public List<ItemAvailabilityDto> getAvailability(Long userId, List<Long> itemIds, LocalDateTime start,
+                                                     LocalDateTime end) {
+        if (!userExistenceChecker.exists(userId)) {
+            throw new NotFoundException("User with id " + userId + " is not created!");
+        }
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("Availability start must be before end");
+        }
+        Set<Long> foundItemIds = new HashSet<>(itemRepository.findIdsByIdIn(itemIds));
+        for (Long itemId : itemIds) {
+            if (!foundItemIds.contains(itemId)) {
+                throw new NotFoundException("Item with id " + itemId + " not found!");
+            }
+        }
+        Sort sort = Sort.by(Sort.Direction.ASC, "start");
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository.findOverlapping(foundItemIds,
+                        List.of(BookingStateEnum.WAITING, BookingStateEnum.APPROVED), start, end, sort).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        return itemIds.stream()
+                .distinct()
+                .map(itemId -> toAvailability(itemId,
+                        bookingsByItem.getOrDefault(itemId, Collections.emptyList()), start, end))
+                .collect(Collectors.toList());
+    }
+
+    private ItemAvailabilityDto toAvailability(Long itemId, List<Booking> bookings, LocalDateTime start,
+                                               LocalDateTime end) {
+        List<TimeIntervalDto> busy = new ArrayList<>();
+        for (Booking booking : bookings) {
+            LocalDateTime busyStart = booking.getStart().isBefore(start) ? start : booking.getStart();
+            LocalDateTime busyEnd = booking.getEnd().isAfter(end) ? end : booking.getEnd();
+            TimeIntervalDto lastBusy = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+            if (lastBusy != null && !busyStart.isAfter(lastBusy.getEnd())) {
+                if (busyEnd.isAfter(lastBusy.getEnd())) {
+                    lastBusy.setEnd(busyEnd);
+                }
+            } else {
+                busy.add(new TimeIntervalDto(busyStart, busyEnd));
+            }
+        }
+        List<TimeIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = start;
+        for (TimeIntervalDto interval : busy) {
+            if (interval.getStart().isAfter(freeStart)) {
+                free.add(new TimeIntervalDto(freeStart, interval.getStart()));
+            }
+            freeStart = interval.getEnd();
+        }
+        if (freeStart.isBefore(end)) {
+            free.add(new TimeIntervalDto(freeStart, end));
+        }
+        return new ItemAvailabilityDto(itemId, busy, free);
     }
 }
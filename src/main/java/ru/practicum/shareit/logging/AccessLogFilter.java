@@ -0,0 +1,75 @@
+package ru.practicum.shareit.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j(topic = AccessLogFilter.ACCESS_LOGGER)
+public class AccessLogFilter extends OncePerRequestFilter {
+    public static final String ACCESS_LOGGER = "shareit.access";
+    public static final String RESULT_SIZE_ATTRIBUTE = AccessLogFilter.class.getName() + ".resultSize";
+
+    private final double sampleRate;
+    private final long slowThresholdMillis;
+
+    public AccessLogFilter(@Value("${shareit.access-log.sample-rate:0.01}") double sampleRate,
+                           @Value("${shareit.access-log.slow-threshold-ms:500}") long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (log.isInfoEnabled() && shouldLog(response.getStatus(), durationMillis)) {
+                log.info("method={} uri={} status={} durationMs={} sqlStatements={} userId={} pathIds={} " +
+                                "resultSize={}", request.getMethod(), getUri(request), response.getStatus(),
+                        durationMillis, SqlStatementCounter.getCount(), getUserId(request), getPathIds(request),
+                        getResultSize(request));
+            }
+        }
+    }
+
+    private boolean shouldLog(int status, long durationMillis) {
+        return status >= 400 || durationMillis >= slowThresholdMillis
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String getUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? request.getRequestURI() : pattern.toString();
+    }
+
+    private String getUserId(HttpServletRequest request) {
+        String userId = request.getHeader("X-Sharer-User-Id");
+        return userId == null ? "-" : userId;
+    }
+
+    private Object getPathIds(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map && !((Map<?, ?>) variables).isEmpty() ? variables : "-";
+    }
+
+    private Object getResultSize(HttpServletRequest request) {
+        Object resultSize = request.getAttribute(RESULT_SIZE_ATTRIBUTE);
+        return resultSize == null ? "-" : resultSize;
+    }
+}
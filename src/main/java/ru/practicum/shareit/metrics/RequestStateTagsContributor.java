@@ -0,0 +1,49 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.enums.RequestStateEnum;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+
+@Component
+public class RequestStateTagsContributor implements WebMvcTagsContributor {
+    private static final String STATE_PARAMETER = "state";
+    private static final String INVALID_STATE = "INVALID";
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(ServiceMetricsAspect.STATE_TAG, getState(request, handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+
+    private String getState(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod) || !hasStateParameter((HandlerMethod) handler)) {
+            return ServiceMetricsAspect.NO_STATE;
+        }
+        String state = request.getParameter(STATE_PARAMETER);
+        if (state == null) {
+            return RequestStateEnum.ALL.name();
+        }
+        return Arrays.stream(RequestStateEnum.values())
+                .map(RequestStateEnum::name)
+                .filter(state::equals)
+                .findFirst()
+                .orElse(INVALID_STATE);
+    }
+
+    private boolean hasStateParameter(HandlerMethod handler) {
+        return Arrays.stream(handler.getMethodParameters())
+                .anyMatch(parameter -> parameter.getParameterType() == RequestStateEnum.class);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.RequestStateEnum;
+
+import java.util.Arrays;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String SERVICE_TIMER = "shareit.service";
+    public static final String STATE_TAG = "state";
+    public static final String NO_STATE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag(STATE_TAG, getState(joinPoint.getArgs()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String getState(Object[] args) {
+        return Arrays.stream(args)
+                .filter(RequestStateEnum.class::isInstance)
+                .map(arg -> ((RequestStateEnum) arg).name())
+                .findFirst()
+                .orElse(NO_STATE);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<AtomicLong> COUNT = ThreadLocal.withInitial(AtomicLong::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    public static long getCount() {
+        return COUNT.get().get();
+    }
+
+    public static void reset() {
+        COUNT.get().set(0);
+    }
+}
@@ -25,18 +25,18 @@ public class ItemRequestController {
     @PostMapping
     public ItemRequestResponseDto createItemRequest(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                                     @RequestBody @Valid ItemRequestDto itemRequestDto) {
-        log.info("Create item request: {} - Started!", itemRequestDto);
+        log.debug("Create item request: {} - Started!", itemRequestDto);
         ItemRequestResponseDto response = itemRequestService.saveItem(ownerId, itemRequestDto);
-        log.info("Create item request: {} - Finished!", response);
+        log.debug("Create item request: {} - Finished!", response);
         return response;
     }
 
     @GetMapping
     public List<ItemRequestResponseDto> getAllOwnerRequests(
             @RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId) {
-        log.info("Get all owner item requests with id {} - Started!", ownerId);
+        log.debug("Get all owner item requests with id {} - Started!", ownerId);
         List<ItemRequestResponseDto> response = itemRequestService.getAllOwnerRequests(ownerId);
-        log.info("Get all owner item requests: {} - Finished!", response);
+        log.debug("Get all owner item requests: {} - Finished!", response);
         return response;
     }
 
@@ -44,18 +44,18 @@ public class ItemRequestController {
     public List<ItemRequestResponseDto> getAllRequests(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                        @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all item requests from - {}; size - {} by user id - {} - Started!", from, size, ownerId);
+        log.debug("Get all item requests from - {}; size - {} by user id - {} - Started!", from, size, ownerId);
         List<ItemRequestResponseDto> response = itemRequestService.getAllRequests(ownerId, from, size);
-        log.info("Get all item requests: {} - Finished!", response);
+        log.debug("Get all item requests: {} - Finished!", response);
         return response;
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestResponseDto getRequest(@RequestHeader(value = "X-Sharer-User-Id") @NotNull Long ownerId,
                                              @PathVariable Long requestId) {
-        log.info("Get item request with id {} - Started!", requestId);
+        log.debug("Get item request with id {} - Started!", requestId);
         ItemRequestResponseDto response = itemRequestService.getRequestById(ownerId, requestId);
-        log.info("Get all owner item requests: {} - Finished!", response);
+        log.debug("Get all owner item requests: {} - Finished!", response);
         return response;
     }
 }
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,5 +15,5 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     @Query("select r from ItemRequest r " +
             "where r.requester.id != ?1")
-    Page<ItemRequest> findOtherRequests(Long requester, Pageable page);
+    Slice<ItemRequest> findOtherRequests(Long requester, Pageable page);
 }
@@ -18,9 +18,11 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,29 +32,45 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     public ItemRequestResponseDto saveItem(Long ownerId, ItemRequestDto itemRequestDto) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User with id - " + ownerId + " not found"));
+        checkUserExists(ownerId);
+        User owner = userRepository.getReferenceById(ownerId);
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(owner, itemRequestDto);
         return ItemRequestMapper.toItemRequestResponseDto(itemRequestRepository.save(itemRequest));
     }
 
     @Override
     public List<ItemRequestResponseDto> getAllOwnerRequests(Long requester) {
-        User owner = userRepository.findById(requester)
-                .orElseThrow(() -> new NotFoundException("User with id - " + requester + " not found"));
+        checkUserExists(requester);
         Sort sort = Sort.by(Sort.Direction.DESC, "creationTime");
-        List<ItemRequest> response = itemRequestRepository.findByRequester_Id(requester, sort);
-        return response.stream()
+        List<ItemRequestResponseDto> response = itemRequestRepository.findByRequester_Id(requester, sort).stream()
                 .map(ItemRequestMapper::toItemRequestResponseDto)
-                .peek(this::loadItems)
                 .collect(Collectors.toList());
+        loadItems(response);
+        return response;
     }
 
     private void loadItems(ItemRequestResponseDto itemRequestResponseDto) {
-        List<Item> items = itemRepository.findByRequestId(itemRequestResponseDto.getId());
+        setItems(itemRequestResponseDto, itemRepository.findByRequestId(itemRequestResponseDto.getId()));
+    }
+
+    private void loadItems(List<ItemRequestResponseDto> itemRequestResponseDtoList) {
+        if (itemRequestResponseDtoList.isEmpty()) {
+            return;
+        }
+        List<Long> requestIds = itemRequestResponseDtoList.stream()
+                .map(ItemRequestResponseDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequest = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        itemRequestResponseDtoList.forEach(itemRequestResponseDto -> setItems(itemRequestResponseDto,
+                itemsByRequest.getOrDefault(itemRequestResponseDto.getId(), Collections.emptyList())));
+    }
+
+    private void setItems(ItemRequestResponseDto itemRequestResponseDto, List<Item> items) {
         if (!items.isEmpty()) {
             List<ItemDto> itemDto = items.stream()
                     .map(ItemMapper::toItemDto)
@@ -65,24 +83,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> getAllRequests(Long requester, Integer from, Integer size) {
-        User owner = userRepository.findById(requester)
-                .orElseThrow(() -> new NotFoundException("User with id - " + requester + " not found"));
+        checkUserExists(requester);
         Sort sort = Sort.by(Sort.Direction.DESC, "creationTime");
         Pageable page = PageRequest.of(from / size, size, sort);
-        return itemRequestRepository.findOtherRequests(requester, page).stream()
+        List<ItemRequestResponseDto> response = itemRequestRepository.findOtherRequests(requester, page).stream()
                 .map(ItemRequestMapper::toItemRequestResponseDto)
-                .peek(this::loadItems)
                 .collect(Collectors.toList());
+        loadItems(response);
+        return response;
     }
 
     @Override
     public ItemRequestResponseDto getRequestById(Long requester, Long requestId) {
-        User owner = userRepository.findById(requester)
-                .orElseThrow(() -> new NotFoundException("User with id - " + requester + " not found"));
+        checkUserExists(requester);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request with id - " + requestId + " not found"));
         ItemRequestResponseDto response = ItemRequestMapper.toItemRequestResponseDto(itemRequest);
         loadItems(response);
         return response;
     }
+
+    private void checkUserExists(Long userId) {
+        if (!userExistenceChecker.exists(userId)) {
+            throw new NotFoundException("User with id - " + userId + " not found");
+        }
+    }
 }
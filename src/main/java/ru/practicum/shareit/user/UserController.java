@@ -21,40 +21,48 @@ public class UserController {
 
     @PostMapping
     public UserDto createUser(@RequestBody @Validated(Create.class) UserDto userDto) {
-        log.info("Create user: {} - Started!", userDto);
+        log.debug("Create user: {} - Started!", userDto);
         UserDto user = userService.saveUser(userDto);
-        log.info("Create user: {} - Finished!", user);
+        log.debug("Create user: {} - Finished!", user);
         return user;
     }
 
+    @PostMapping("/batch")
+    public List<UserDto> createUsers(@RequestBody List<UserDto> userDtoList) {
+        log.debug("Create {} users - Started!", userDtoList.size());
+        List<UserDto> users = userService.saveUsers(userDtoList);
+        log.debug("Create users: {} - Finished!", users);
+        return users;
+    }
+
     @PatchMapping("/{userId}")
     public UserDto updateUser(@RequestBody @Validated(Update.class) UserDto userDto, @PathVariable Long userId) {
-        log.info("Update user: {} - Started!", userDto);
+        log.debug("Update user: {} - Started!", userDto);
         UserDto user = userService.updateUser(userDto, userId);
-        log.info("Update user: {} - Finished!", user);
+        log.debug("Update user: {} - Finished!", user);
         return user;
     }
 
     @GetMapping
     public List<UserDto> getAllUsers() {
-        log.info("Get all users - Started!");
+        log.debug("Get all users - Started!");
         List<UserDto> users = userService.getAllUsers();
-        log.info("Get all users: {} - Finished!", users);
+        log.debug("Get all users: {} - Finished!", users);
         return users;
     }
 
     @GetMapping("/{id}")
     public UserDto getUserById(@PathVariable long id) {
-        log.info("Get user by id {} - Started!", id);
+        log.debug("Get user by id {} - Started!", id);
         UserDto user = userService.getUser(id);
-        log.info("Get user by id: {} - Finished!", user);
+        log.debug("Get user by id: {} - Finished!", user);
         return user;
     }
 
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable long id) {
-        log.info("Delete user by id {} - Started!", id);
+        log.debug("Delete user by id {} - Started!", id);
         userService.deleteUser(id);
-        log.info("Delete user by id {} - Finished!", id);
+        log.debug("Delete user by id {} - Finished!", id);
     }
 }
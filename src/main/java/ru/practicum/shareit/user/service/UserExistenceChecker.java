@@ -0,0 +1,50 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+@Component
+public class UserExistenceChecker {
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistenceChecker(UserRepository userRepository,
+                                @Value("${shareit.user.existence-cache.maximum-size:100000}") long maximumSize,
+                                @Value("${shareit.user.existence-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        if (knownUsers.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (!userRepository.existsUserById(userId)) {
+            return false;
+        }
+        knownUsers.put(userId, Boolean.TRUE);
+        return true;
+    }
+
+    public void evictAll() {
+        knownUsers.invalidateAll();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() == EntityTypeEnum.USER) {
+            knownUsers.invalidate(event.getEntityId());
+        }
+    }
+}
@@ -8,6 +8,8 @@ public interface UserService {
 
     UserDto saveUser(UserDto userDto);
 
+    List<UserDto> saveUsers(List<UserDto> userDtoList);
+
     UserDto updateUser(UserDto user, Long userId);
 
     List<UserDto> getAllUsers();
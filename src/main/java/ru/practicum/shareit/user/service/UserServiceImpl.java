@@ -1,15 +1,23 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.RowValidator;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +25,9 @@ import java.util.stream.Collectors;
 @Validated
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RowValidator rowValidator;
 
     @Override
     public UserDto saveUser(UserDto userDto) {
@@ -24,6 +35,18 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(userRepository.save(user));
     }
 
+    @Override
+    public List<UserDto> saveUsers(List<UserDto> userDtoList) {
+        rowValidator.validateAll(userDtoList, Create.class);
+        List<User> users = userDtoList.stream()
+                .map(UserMapper::toUser)
+                .collect(Collectors.toList());
+        users.forEach(user -> user.setId(null));
+        return userRepository.saveAll(users).stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public UserDto updateUser(UserDto userDto, Long userId) {
         User userToUpdate = userRepository.findById(userId)
@@ -34,7 +57,9 @@ public class UserServiceImpl implements UserService {
         if (userDto.getName() != null) {
             userToUpdate.setName(userDto.getName());
         }
-        return UserMapper.toUserDto(userRepository.save(userToUpdate));
+        User user = userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.USER, userId, null));
+        return UserMapper.toUserDto(user);
     }
 
     @Override
@@ -54,6 +79,11 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with id = " + userId));
+        Set<Long> itemIds = new LinkedHashSet<>(itemRepository.findIdsByOwnerOrRequester(userId));
+        itemIds.addAll(itemRepository.findIdsBookedOrCommentedBy(userId));
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.USER, userId, null));
+        itemIds.forEach(itemId -> eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.ITEM, itemId,
+                itemId)));
     }
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import javax.validation.Validator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class RowValidator {
+    private final Validator validator;
+
+    public List<String> getViolations(Object row, Class<?> group) {
+        return validator.validate(row, group).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    public void validateAll(List<?> rows, Class<?> group) {
+        if (rows.isEmpty()) {
+            throw new BadRequestException("Batch can't be empty!");
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> violations = getViolations(rows.get(i), group);
+            if (!violations.isEmpty()) {
+                throw new BadRequestException("Row " + i + ": " + String.join(", ", violations));
+            }
+        }
+    }
+}
@@ -1,17 +1,10 @@
-drop table IF EXISTS
-    users,
-    items,
-    bookings,
-    requests,
-    comments;
-
-create table users (
+create table if not exists users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR NOT NULL,
     email VARCHAR NOT NULL UNIQUE
 );
 
-create table requests (
+create table if not exists requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description VARCHAR NOT NULL,
     requester_id BIGINT NOT NULL,
@@ -20,7 +13,7 @@ create table requests (
     REFERENCES users (id) ON DELETE CASCADE
 );
 
-create table items (
+create table if not exists items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR NOT NULL,
     description VARCHAR NOT NULL,
@@ -33,7 +26,7 @@ create table items (
     CONSTRAINT UQ_OWNER_ITEM_NAME UNIQUE(owner_id, name)
 );
 
-create table bookings (
+create table if not exists bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -46,7 +39,7 @@ create table bookings (
     REFERENCES users (id) ON DELETE CASCADE
 );
 
-create table comments (
+create table if not exists comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text VARCHAR NOT NULL,
     item_id BIGINT NOT NULL,
@@ -56,4 +49,4 @@ create table comments (
     REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_author_user FOREIGN KEY (author_id)
     REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
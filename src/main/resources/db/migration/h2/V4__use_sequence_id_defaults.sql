@@ -0,0 +1,10 @@
+alter table users alter column id drop identity;
+alter table users alter column id set default next value for users_seq;
+alter table requests alter column id drop identity;
+alter table requests alter column id set default next value for requests_seq;
+alter table items alter column id drop identity;
+alter table items alter column id set default next value for items_seq;
+alter table bookings alter column id drop identity;
+alter table bookings alter column id set default next value for bookings_seq;
+alter table comments alter column id drop identity;
+alter table comments alter column id set default next value for comments_seq;
@@ -0,0 +1,16 @@
+create index concurrently if not exists idx_requests_requester_created on requests (requester_id, creation_time);
+create index concurrently if not exists idx_requests_created on requests (creation_time desc);
+
+create index concurrently if not exists idx_items_request on items (request_id);
+
+create index concurrently if not exists idx_bookings_booker_created on bookings (booker_id, creation_time desc, id desc);
+create index concurrently if not exists idx_bookings_booker_status_created on bookings (booker_id, status, creation_time desc);
+create index concurrently if not exists idx_bookings_booker_start on bookings (booker_id, start_date);
+create index concurrently if not exists idx_bookings_booker_end on bookings (booker_id, end_date);
+create index concurrently if not exists idx_bookings_item_start on bookings (item_id, start_date);
+create index concurrently if not exists idx_bookings_item_end on bookings (item_id, end_date);
+create index concurrently if not exists idx_bookings_item_status_created on bookings (item_id, status, creation_time desc);
+create index concurrently if not exists idx_bookings_item_created on bookings (item_id, creation_time desc, id desc);
+
+create index concurrently if not exists idx_comments_item_created on comments (item_id, creation_time desc);
+create index concurrently if not exists idx_comments_author on comments (author_id);
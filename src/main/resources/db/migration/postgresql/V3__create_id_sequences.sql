@@ -0,0 +1,11 @@
+create sequence if not exists users_seq increment by 50;
+create sequence if not exists requests_seq increment by 50;
+create sequence if not exists items_seq increment by 50;
+create sequence if not exists bookings_seq increment by 50;
+create sequence if not exists comments_seq increment by 50;
+
+select setval('users_seq', (select coalesce(max(id), 0) + 50 from users), false);
+select setval('requests_seq', (select coalesce(max(id), 0) + 50 from requests), false);
+select setval('items_seq', (select coalesce(max(id), 0) + 50 from items), false);
+select setval('bookings_seq', (select coalesce(max(id), 0) + 50 from bookings), false);
+select setval('comments_seq', (select coalesce(max(id), 0) + 50 from comments), false);
@@ -0,0 +1,15 @@
+alter table users alter column id drop identity if exists;
+alter table users alter column id set default nextval('users_seq');
+alter sequence users_seq owned by users.id;
+alter table requests alter column id drop identity if exists;
+alter table requests alter column id set default nextval('requests_seq');
+alter sequence requests_seq owned by requests.id;
+alter table items alter column id drop identity if exists;
+alter table items alter column id set default nextval('items_seq');
+alter sequence items_seq owned by items.id;
+alter table bookings alter column id drop identity if exists;
+alter table bookings alter column id set default nextval('bookings_seq');
+alter sequence bookings_seq owned by bookings.id;
+alter table comments alter column id drop identity if exists;
+alter table comments alter column id set default nextval('comments_seq');
+alter sequence comments_seq owned by comments.id;
@@ -0,0 +1,5 @@
+create extension if not exists btree_gist;
+
+alter table bookings add constraint excl_bookings_item_period
+    exclude using gist (item_id with =, tsrange(start_date, end_date) with &&)
+    where (status in ('WAITING', 'APPROVED'));
@@ -0,0 +1,83 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.RecordingStatementInspector")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BatchInsertTest {
+    private static final int ROWS = 120;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void bulkUsersAreInsertedInJdbcBatches() {
+        List<UserDto> userDtoList = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            userDtoList.add(new UserDto(null, "user" + i, "user" + i + "@mail.ru"));
+        }
+        RecordingStatementInspector.clear();
+
+        List<UserDto> users = userService.saveUsers(userDtoList);
+
+        assertThat(users).hasSize(ROWS);
+        assertThat(users).extracting(UserDto::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(userService.getAllUsers()).hasSize(ROWS);
+        assertThat(countInserts()).isLessThanOrEqualTo((ROWS + BATCH_SIZE - 1) / BATCH_SIZE);
+    }
+
+    @Test
+    void bulkItemsAreInsertedInJdbcBatches() {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        List<ItemDto> itemDtoList = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            itemDtoList.add(new ItemDto(null, "item" + i, "description", true, null));
+        }
+        RecordingStatementInspector.clear();
+
+        List<ItemResponseDto> items = itemService.saveItems(owner.getId(), itemDtoList);
+
+        assertThat(items).hasSize(ROWS);
+        assertThat(items).extracting(ItemResponseDto::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(itemService.getAllOwnerItems(owner.getId(), 0, ROWS * 2)).hasSize(ROWS);
+        assertThat(countInserts()).isLessThanOrEqualTo((ROWS + BATCH_SIZE - 1) / BATCH_SIZE);
+    }
+
+    @Test
+    void invalidRowRejectsWholeBatch() {
+        List<UserDto> userDtoList = List.of(new UserDto(null, "user", "user@mail.ru"),
+                new UserDto(null, "", "second@mail.ru"));
+
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> userService.saveUsers(userDtoList));
+
+        assertThat(exception.getMessage()).startsWith("Row 1: name");
+        assertThat(userService.getAllUsers()).isEmpty();
+    }
+
+    private long countInserts() {
+        return RecordingStatementInspector.getStatements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert"))
+                .count();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.RecordingStatementInspector")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BookingExportTest {
+    private static final int BOOKINGS = BookingRepository.EXPORT_FETCH_SIZE * 2 + 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private User otherBooker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        otherBooker = userRepository.save(new User(null, "other", "other@mail.ru"));
+        List<Item> items = itemRepository.saveAll(List.of(new Item(null, "drill", "power drill", true, owner, null),
+                new Item(null, "saw", "hand saw", true, owner, null)));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(BOOKINGS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder()
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .item(items.get(i % items.size()))
+                    .booker(i % 4 == 0 ? otherBooker : booker)
+                    .status(BookingStateEnum.APPROVED)
+                    .creationTime(start.plusDays(i))
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void exportStreamsFullBookerHistoryNewestFirst() throws Exception {
+        RecordingStatementInspector.clear();
+
+        List<BookingResponseDto> bookings = export("/bookings/export", booker.getId());
+
+        assertThat(bookings).hasSize(BOOKINGS - (BOOKINGS + 3) / 4);
+        assertThat(bookings).allMatch(booking -> booking.getBooker().getId().equals(booker.getId()));
+        assertThat(bookings).extracting(BookingResponseDto::getStart)
+                .isSortedAccordingTo((first, second) -> second.compareTo(first));
+        assertThat(bookings.get(0).getItem().getName()).isIn("drill", "saw");
+        assertThat(RecordingStatementInspector.getStatements()).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void exportStreamsFullOwnerHistory() throws Exception {
+        RecordingStatementInspector.clear();
+
+        List<BookingResponseDto> bookings = export("/bookings/owner/export", owner.getId());
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(bookings).extracting(BookingResponseDto::getId).doesNotHaveDuplicates();
+        assertThat(RecordingStatementInspector.getStatements()).hasSizeLessThanOrEqualTo(2);
+        assertThat(export("/bookings/owner/export", booker.getId())).isEmpty();
+    }
+
+    @Test
+    void exportForUnknownUserIsNotFound() throws Exception {
+        mockMvc.perform(get("/bookings/export").header("X-Sharer-User-Id", 999))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private List<BookingResponseDto> export(String path, Long userId) throws Exception {
+        String response = mockMvc.perform(get(path).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        List<BookingResponseDto> bookings = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            if (!line.isEmpty()) {
+                bookings.add(objectMapper.readValue(line, BookingResponseDto.class));
+            }
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.item.import.batch-size=2")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ItemImportTest {
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void ndjsonImportReportsEveryRow() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        List<ItemDto> rows = List.of(new ItemDto(null, "drill", "power drill", true, null),
+                new ItemDto(null, "", "no name", true, null),
+                new ItemDto(null, "saw", "hand saw", true, null),
+                new ItemDto(null, "drill", "duplicate drill", true, null),
+                new ItemDto(null, "hammer", "steel hammer", false, null));
+        StringBuilder body = new StringBuilder();
+        for (ItemDto row : rows) {
+            body.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), body.toString(), NDJSON);
+
+        assertThat(results).extracting(ItemImportResultDto::getRow).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(results).extracting(ItemImportResultDto::getName)
+                .containsExactly("drill", "", "saw", "drill", "hammer");
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getError()).startsWith("name");
+        assertThat(results.get(2).getId()).isNotNull();
+        assertThat(results.get(3).getId()).isNull();
+        assertThat(results.get(3).getError()).startsWith("Item can't be saved");
+        assertThat(results.get(4).getId()).isNotNull();
+        assertThat(itemService.getAllOwnerItems(owner.getId(), 0, 10))
+                .extracting(ItemResponseDto::getName)
+                .containsExactlyInAnyOrder("drill", "saw", "hammer");
+    }
+
+    @Test
+    void jsonArrayImportIsAccepted() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        List<ItemDto> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(new ItemDto(null, "item" + i, "description", true, null));
+        }
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), objectMapper.writeValueAsString(rows),
+                MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(results).hasSize(5);
+        assertThat(results).extracting(ItemImportResultDto::getError).containsOnlyNulls();
+        assertThat(results).extracting(ItemImportResultDto::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(itemService.getAllOwnerItems(owner.getId(), 0, 10)).hasSize(5);
+    }
+
+    @Test
+    void unreadableRowStopsImport() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        String body = objectMapper.writeValueAsString(new ItemDto(null, "drill", "power drill", true, null))
+                + "\n{\"name\": \n";
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), body, NDJSON);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getRow()).isEqualTo(1L);
+        assertThat(results.get(1).getError()).startsWith("Unreadable row");
+        assertThat(itemService.getAllOwnerItems(owner.getId(), 0, 10)).hasSize(1);
+    }
+
+    @Test
+    void importForUnknownUserIsNotFound() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .content(objectMapper.writeValueAsString(new ItemDto(null, "drill", "drill", true, null)))
+                        .contentType(NDJSON)
+                        .header("X-Sharer-User-Id", 999))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private List<ItemImportResultDto> importItems(Long ownerId, String body, String contentType) throws Exception {
+        String response = mockMvc.perform(post("/items/import")
+                        .content(body)
+                        .contentType(contentType)
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.enums.RequestStateEnum;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.RecordingStatementInspector",
+        "shareit.item.search.engine=jpql"})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class PaginationCountQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void pagedEndpointsDoNotIssueCountQueries() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        itemService.saveItem(owner.getId(), new ItemDto(null, "boat", "small boat", true, null));
+        RecordingStatementInspector.clear();
+
+        List<String> paths = new ArrayList<>(List.of("/items", "/items/search?text=boat", "/requests/all"));
+        for (RequestStateEnum state : RequestStateEnum.values()) {
+            paths.add("/bookings?state=" + state);
+            paths.add("/bookings/owner?state=" + state);
+        }
+        for (String path : paths) {
+            mockMvc.perform(get(path).header("X-Sharer-User-Id", owner.getId()))
+                    .andExpect(status().isOk());
+        }
+
+        List<String> statements = RecordingStatementInspector.getStatements();
+        assertThat(statements).isNotEmpty();
+        assertThat(statements).noneMatch(sql -> sql.toLowerCase().contains("count("));
+    }
+}
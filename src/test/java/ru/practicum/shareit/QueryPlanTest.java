@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.RecordingStatementInspector",
+        "shareit.dataset.users=300",
+        "shareit.dataset.requests=2000",
+        "shareit.dataset.items=2000",
+        "shareit.dataset.bookings=20000",
+        "shareit.dataset.comments=5000"})
+@ActiveProfiles({"test", "generate"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class QueryPlanTest {
+    private static final Pattern TABLE_SCAN = Pattern.compile("(users|requests|items|bookings|comments)\\.tablescan");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repositoryQueriesDoNotScanLargeTables() {
+        jdbcTemplate.execute("analyze");
+        User user = userRepository.findById(1L).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationTime"));
+        Pageable cursorPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationTime")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+        Sort byStart = Sort.by(Sort.Direction.ASC, "start");
+        Sort byCreation = Sort.by(Sort.Direction.DESC, "creationTime");
+        List<Long> ids = List.of(1L, 2L, 3L);
+        List<BookingStateEnum> statuses = List.of(BookingStateEnum.WAITING, BookingStateEnum.APPROVED);
+        RecordingStatementInspector.clear();
+
+        userRepository.existsUserById(1L);
+
+        itemRequestRepository.findByRequester_Id(1L, byCreation);
+        itemRequestRepository.findOtherRequests(1L, page);
+
+        itemRepository.findByOwner_Id(1L, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+        itemRepository.existsByOwner(user);
+        itemRepository.findByRequestId(1L);
+        itemRepository.findByRequestIdIn(ids);
+        itemRepository.findAllById(ids);
+
+        commentRepository.findByItem_Id(1L, byCreation);
+        commentRepository.findByItem_IdIn(ids, byCreation);
+
+        bookingRepository.findByBooker(user, page);
+        bookingRepository.findByBookerAndEndBefore(user, now, page);
+        bookingRepository.findByBookerAndStartAfter(user, now, page);
+        bookingRepository.findAllWithCurrentState(user, now, page);
+        bookingRepository.findByBookerAndStatus(user, BookingStateEnum.WAITING, page);
+        bookingRepository.findByItem_Owner(user, page);
+        bookingRepository.findByItem_OwnerAndEndBefore(user, now, page);
+        bookingRepository.findByItem_OwnerAndStartAfter(user, now, page);
+        bookingRepository.findAllItemsBookingWithCurrentState(user, now, page);
+        bookingRepository.findByItem_OwnerAndStatus(user, BookingStateEnum.WAITING, page);
+        bookingRepository.findByItem_Id(1L, byStart);
+        bookingRepository.findOverlapping(ids, statuses, now, now.plusDays(7), byStart);
+        bookingRepository.existsOverlapping(1L, statuses, now, now.plusDays(7));
+        bookingRepository.findItemBookingsStartedBefore(1L, now, BookingStateEnum.REJECTED,
+                PageRequest.of(0, 1));
+        bookingRepository.findItemBookingsStartingAfter(1L, now, BookingStateEnum.REJECTED,
+                PageRequest.of(0, 1));
+        bookingRepository.findLastBookings(ids, now, BookingStateEnum.REJECTED);
+        bookingRepository.findNextBookings(ids, now, BookingStateEnum.REJECTED);
+        bookingRepository.findByBookerAfterCursor(user, now, Long.MAX_VALUE, cursorPage);
+        bookingRepository.findPastByBookerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findFutureByBookerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findCurrentByBookerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findByBookerAndStatusAfterCursor(user, now, Long.MAX_VALUE, BookingStateEnum.WAITING,
+                cursorPage);
+        bookingRepository.findByItemOwnerAfterCursor(user, now, Long.MAX_VALUE, cursorPage);
+        bookingRepository.findPastByItemOwnerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findFutureByItemOwnerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findCurrentByItemOwnerAfterCursor(user, now, Long.MAX_VALUE, now, cursorPage);
+        bookingRepository.findByItemOwnerAndStatusAfterCursor(user, now, Long.MAX_VALUE, BookingStateEnum.WAITING,
+                cursorPage);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Booking> bookings = bookingRepository.streamByBooker(user)) {
+                bookings.findFirst();
+            }
+            try (Stream<Booking> bookings = bookingRepository.streamByItemOwner(user)) {
+                bookings.findFirst();
+            }
+        });
+
+        Map<String, String> scans = new LinkedHashMap<>();
+        RecordingStatementInspector.getStatements().stream()
+                .distinct()
+                .forEach(sql -> {
+                    String plan = explain(sql);
+                    if (TABLE_SCAN.matcher(plan.toLowerCase()).find()) {
+                        scans.put(sql, plan);
+                    }
+                });
+
+        assertThat(RecordingStatementInspector.getStatements()).hasSizeGreaterThan(30);
+        assertThat(scans).isEmpty();
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("explain " + sql, (PreparedStatementCallback<String>) statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RecordingStatementInspector extends SqlStatementCounter {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return super.inspect(sql);
+    }
+
+    public static List<String> getStatements() {
+        return new ArrayList<>(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+}
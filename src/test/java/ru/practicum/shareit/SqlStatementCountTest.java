@@ -0,0 +1,122 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.SqlStatementCountFilter;
+import ru.practicum.shareit.metrics.SqlStatementCountHeaderAdvice;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.sql.statement-count-header=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SqlStatementCountTest {
+    private static final int ITEMS = 50;
+    private static final int REQUESTS = 50;
+    private static final int COMMENTS = 10;
+    private static final long OWNER_ITEMS_MAX_STATEMENTS = 4;
+    private static final long ITEM_VIEW_MAX_STATEMENTS = 4;
+    private static final long OTHER_REQUESTS_MAX_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserExistenceChecker userExistenceChecker;
+
+    private User owner;
+    private Item firstItem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            User requester = userRepository.save(new User(null, "requester" + i, "requester" + i + "@mail.ru"));
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "request " + i, requester,
+                    now));
+            Item item = itemRepository.save(new Item(null, "item" + i, "description", true, owner, request));
+            if (firstItem == null) {
+                firstItem = item;
+            }
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, requester,
+                    BookingStateEnum.APPROVED, now.minusDays(3)));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, requester,
+                    BookingStateEnum.WAITING, now));
+            if (i < COMMENTS) {
+                commentRepository.save(new Comment(null, "comment " + i, firstItem, requester, now));
+            }
+        }
+        userExistenceChecker.evictAll();
+    }
+
+    @Test
+    void listingOwnerItemsDoesNotQueryPerItem() throws Exception {
+        long statements = countStatements("/items?from=0&size=" + ITEMS);
+
+        assertThat(statements).isLessThanOrEqualTo(OWNER_ITEMS_MAX_STATEMENTS);
+        assertThat(meterRegistry.get(SqlStatementCountFilter.STATEMENTS_SUMMARY)
+                .tag("uri", "/items")
+                .summary().totalAmount()).isEqualTo(statements);
+    }
+
+    @Test
+    void viewingItemDoesNotQueryPerComment() throws Exception {
+        assertThat(countStatements("/items/" + firstItem.getId())).isLessThanOrEqualTo(ITEM_VIEW_MAX_STATEMENTS);
+    }
+
+    @Test
+    void listingOtherRequestsDoesNotQueryPerRequest() throws Exception {
+        long statements = countStatements("/requests/all?from=0&size=" + REQUESTS);
+
+        assertThat(statements).isLessThanOrEqualTo(OTHER_REQUESTS_MAX_STATEMENTS);
+    }
+
+    private long countStatements(String path) throws Exception {
+        String header = mockMvc.perform(get(path).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatementCountHeaderAdvice.STATEMENT_COUNT_HEADER);
+        assertThat(header).isNotNull();
+        return Long.parseLong(header);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.RecordingStatementInspector")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class UserValidationRoundTripTest {
+    private static final int REQUESTS = 20;
+    private static final Pattern USERS_QUERY = Pattern.compile("from\\s+users\\b");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void repeatedRequestsValidateUserOnce() throws Exception {
+        UserDto user = userService.saveUser(new UserDto(null, "name", "email@email.ru"));
+        RecordingStatementInspector.clear();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/requests").header("X-Sharer-User-Id", user.getId()))
+                    .andExpect(status().isOk());
+        }
+
+        long userQueries = RecordingStatementInspector.getStatements().stream()
+                .filter(sql -> USERS_QUERY.matcher(sql.toLowerCase()).find())
+                .count();
+        assertThat(userQueries).isEqualTo(1);
+    }
+
+    @Test
+    void unknownUserIsNotFound() throws Exception {
+        mockMvc.perform(get("/requests").header("X-Sharer-User-Id", 100))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidBodyIsRejectedBeforeUserLookup() throws Exception {
+        mockMvc.perform(post("/items")
+                        .content("{}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 100))
+                .andExpect(status().isBadRequest());
+    }
+}
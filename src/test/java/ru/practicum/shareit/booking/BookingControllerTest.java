@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -17,10 +18,14 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -157,4 +162,73 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.email").value(bookingResponseDto.getBooker().getEmail()))
                 .andExpect(jsonPath("$[0].status").value(bookingResponseDto.getStatus().toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookingsByCursor() throws Exception {
+        when(bookingService.getUserBookingsByCursor(anyLong(), any(), any(), anyInt()))
+                .thenReturn(new BookingCursorPageDto(List.of(bookingResponseDto), "next"));
+
+        mockMvc.perform(get("/bookings/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", "current"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].id").value(bookingResponseDto.getId()))
+                .andExpect(jsonPath("$.bookings[0].status").value(bookingResponseDto.getStatus().toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getItemsBookingByCursor() throws Exception {
+        when(bookingService.getItemsBookingByCursor(anyLong(), any(), any(), anyInt()))
+                .thenReturn(new BookingCursorPageDto(List.of(bookingResponseDto), null));
+
+        mockMvc.perform(get("/bookings/owner/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].id").value(bookingResponseDto.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void exportUserBookings() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> results = invocation.getArgument(1);
+            results.accept(bookingResponseDto);
+            results.accept(bookingResponseDto);
+            return null;
+        }).when(bookingService).exportUserBookings(anyLong(), any());
+
+        String response = mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], BookingResponseDto.class)).isEqualTo(bookingResponseDto);
+    }
+
+    @Test
+    void exportItemsBooking() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> results = invocation.getArgument(1);
+            results.accept(bookingResponseDto);
+            return null;
+        }).when(bookingService).exportItemsBooking(anyLong(), any());
+
+        String response = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(response.split("\n")).hasSize(1);
+        assertThat(objectMapper.readValue(response.trim(), BookingResponseDto.class).getStatus())
+                .isEqualTo(BookingStateEnum.APPROVED);
+    }
+}
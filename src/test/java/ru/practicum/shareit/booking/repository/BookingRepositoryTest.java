@@ -4,9 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
 import ru.practicum.shareit.enums.BookingStateEnum;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -15,12 +18,15 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.PersistenceUnitUtil;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class BookingRepositoryTest {
@@ -70,11 +76,11 @@ class BookingRepositoryTest {
         bookingRepository.save(currentNotOwner);
 
         assertThat(bookingRepository.findAllWithCurrentState(notOwner, LocalDateTime.now(),
-                        PageRequest.of(0, 5)).getTotalElements()).isEqualTo(1);
+                        PageRequest.of(0, 5)).getNumberOfElements()).isEqualTo(1);
         assertThat(bookingRepository.findAllWithCurrentState(notOwner, LocalDateTime.now(),
                         PageRequest.of(0, 5)).getContent().get(0)).isEqualTo(currentNotOwner);
         assertThat(bookingRepository.findAllWithCurrentState(owner, LocalDateTime.now(), PageRequest.of(0, 5))
-                .getTotalElements()).isEqualTo(2);
+                .getNumberOfElements()).isEqualTo(2);
         assertThat(bookingRepository.findAllWithCurrentState(owner, LocalDateTime.now(), PageRequest.of(0, 5))
                 .getContent().get(0)).isEqualTo(current);
         assertThat(bookingRepository.findAllWithCurrentState(owner, LocalDateTime.now(), PageRequest.of(0, 5))
@@ -119,16 +125,86 @@ class BookingRepositoryTest {
         bookingRepository.save(currentSecondItem);
 
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(notOwner, LocalDateTime.now(),
-                PageRequest.of(0, 5)).getTotalElements()).isEqualTo(0);
+                PageRequest.of(0, 5)).getNumberOfElements()).isEqualTo(0);
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(owner, LocalDateTime.now(),
-                        PageRequest.of(0, 5)).getTotalElements()).isEqualTo(3);
+                        PageRequest.of(0, 5, Sort.by("id"))).getNumberOfElements()).isEqualTo(3);
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(owner, LocalDateTime.now(),
-                        PageRequest.of(0, 5)).getContent().get(0)).isEqualTo(current);
+                        PageRequest.of(0, 5, Sort.by("id"))).getContent().get(0)).isEqualTo(current);
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(owner, LocalDateTime.now(),
-                        PageRequest.of(0, 5)).getContent().get(1)).isEqualTo(currentNotOwner);
+                        PageRequest.of(0, 5, Sort.by("id"))).getContent().get(1)).isEqualTo(currentNotOwner);
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(owner, LocalDateTime.now(),
-                PageRequest.of(0, 5)).getContent().get(2)).isEqualTo(currentSecondItem);
+                PageRequest.of(0, 5, Sort.by("id"))).getContent().get(2)).isEqualTo(currentSecondItem);
         assertThat(bookingRepository.findAllItemsBookingWithCurrentState(owner, LocalDateTime.now(),
-                        PageRequest.of(0, 5)).getContent()).doesNotContain(before, after);
+                        PageRequest.of(0, 5, Sort.by("id"))).getContent()).doesNotContain(before, after);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findLastAndNextBookings() {
+        User owner = new User(1L, "first user", "first@first.ru");
+        userRepository.save(owner);
+        User booker = new User(2L, "booker", "second@second.ru");
+        userRepository.save(booker);
+        Item item = new Item(1L, "firstItem", "description", true, owner, null);
+        itemRepository.save(item);
+        Item secondItem = new Item(2L, "secondItem", "description", true, owner, null);
+        itemRepository.save(secondItem);
+
+        Booking oldPast = new Booking(1L, LocalDateTime.now().minusHours(5), LocalDateTime.now().minusHours(4), item,
+                booker, BookingStateEnum.APPROVED, LocalDateTime.now().minusHours(6));
+        bookingRepository.save(oldPast);
+        Booking past = new Booking(2L, LocalDateTime.now().minusHours(3), LocalDateTime.now().minusHours(2), item,
+                booker, BookingStateEnum.APPROVED, LocalDateTime.now().minusHours(6));
+        bookingRepository.save(past);
+        Booking rejectedPast = new Booking(3L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                item, booker, BookingStateEnum.REJECTED, LocalDateTime.now().minusHours(6));
+        bookingRepository.save(rejectedPast);
+        Booking next = new Booking(4L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3), item,
+                booker, BookingStateEnum.WAITING, LocalDateTime.now().minusHours(1));
+        bookingRepository.save(next);
+        Booking farNext = new Booking(5L, LocalDateTime.now().plusHours(4), LocalDateTime.now().plusHours(5), item,
+                booker, BookingStateEnum.APPROVED, LocalDateTime.now().minusHours(1));
+        bookingRepository.save(farNext);
+        Booking secondItemNext = new Booking(6L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                secondItem, booker, BookingStateEnum.APPROVED, LocalDateTime.now().minusHours(1));
+        bookingRepository.save(secondItemNext);
+
+        LocalDateTime current = LocalDateTime.now();
+        assertThat(bookingRepository.findItemBookingsStartedBefore(item.getId(), current, BookingStateEnum.REJECTED,
+                PageRequest.of(0, 1))).containsExactly(past);
+        assertThat(bookingRepository.findItemBookingsStartingAfter(item.getId(), current, BookingStateEnum.REJECTED,
+                PageRequest.of(0, 1))).containsExactly(next);
+        assertThat(bookingRepository.findItemBookingsStartedBefore(secondItem.getId(), current,
+                BookingStateEnum.REJECTED, PageRequest.of(0, 1))).isEmpty();
+
+        List<Long> itemIds = List.of(item.getId(), secondItem.getId());
+        assertThat(bookingRepository.findLastBookings(itemIds, current, BookingStateEnum.REJECTED))
+                .containsExactly(past);
+        assertThat(bookingRepository.findNextBookings(itemIds, current, BookingStateEnum.REJECTED))
+                .containsExactlyInAnyOrder(next, secondItemNext);
+    }
+
+    @Test
+    void findByBookerFetchesItemAndBooker() {
+        User owner = userRepository.save(new User(1L, "first user", "first@first.ru"));
+        User booker = userRepository.save(new User(2L, "booker", "second@second.ru"));
+        Item item = itemRepository.save(new Item(1L, "firstItem", "description", true, owner, null));
+        bookingRepository.save(new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                item, booker, BookingStateEnum.WAITING, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManager().getEntityManagerFactory()
+                .getPersistenceUnitUtil();
+        List<Booking> bookerBookings = bookingRepository.findByBooker(booker, PageRequest.of(0, 5)).getContent();
+        assertThat(bookerBookings).hasSize(1);
+        assertThat(persistenceUnitUtil.isLoaded(bookerBookings.get(0).getItem())).isTrue();
+        assertThat(persistenceUnitUtil.isLoaded(bookerBookings.get(0).getBooker())).isTrue();
+
+        entityManager.clear();
+        List<Booking> ownerBookings = bookingRepository.findByItem_OwnerAndStatus(owner, BookingStateEnum.WAITING,
+                PageRequest.of(0, 5)).getContent();
+        assertThat(ownerBookings).hasSize(1);
+        assertThat(persistenceUnitUtil.isLoaded(ownerBookings.get(0).getItem())).isTrue();
+        assertThat(persistenceUnitUtil.isLoaded(ownerBookings.get(0).getBooker())).isTrue();
+    }
+}
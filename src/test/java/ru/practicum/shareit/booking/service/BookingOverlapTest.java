@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BookingOverlapTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void overlappingBookingIsRejected() {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        UserDto booker = userService.saveUser(new UserDto(null, "booker", "booker@mail.ru"));
+        ItemResponseDto item = itemService.saveItem(owner.getId(),
+                new ItemDto(null, "item", "description", true, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        bookingService.saveBooking(booker.getId(), new BookingRequestDto(item.getId(), start, start.plusHours(2)));
+
+        assertThrows(BadRequestException.class, () -> bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.plusHours(1), start.plusHours(3))));
+        assertThrows(BadRequestException.class, () -> bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.minusHours(1), start.plusHours(3))));
+        assertThat(bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.plusHours(2), start.plusHours(3))).getId()).isNotNull();
+    }
+
+    @Test
+    void concurrentBookingsForSameSlotDoNotBothSucceed() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        UserDto firstBooker = userService.saveUser(new UserDto(null, "first", "first@mail.ru"));
+        UserDto secondBooker = userService.saveUser(new UserDto(null, "second", "second@mail.ru"));
+        ItemResponseDto item = itemService.saveItem(owner.getId(),
+                new ItemDto(null, "item", "description", true, null));
+        BookingRequestDto bookingRequestDto = new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long bookerId : List.of(firstBooker.getId(), secondBooker.getId())) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    bookingService.saveBooking(bookerId, bookingRequestDto);
+                    return true;
+                } catch (BadRequestException e) {
+                    return false;
+                }
+            }));
+        }
+        startLatch.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+    }
+}
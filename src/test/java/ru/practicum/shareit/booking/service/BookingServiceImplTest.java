@@ -4,11 +4,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.enums.BookingStateEnum;
 import ru.practicum.shareit.enums.RequestStateEnum;
+import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -22,6 +25,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -123,4 +127,43 @@ class BookingServiceImplTest {
         assertThat(bookingResponseDtoList.get(0).getBooker().getEmail()).isEqualTo(secondUserDto.getEmail());
         assertThat(bookingResponseDtoList.get(0).getStatus()).isEqualTo(BookingStateEnum.APPROVED);
     }
-}
\ No newline at end of file
+
+    @Test
+    void cursorPagination() {
+        UserDto owner = userService.saveUser(new UserDto(1L, "owner", "owner@mail.ru"));
+        UserDto booker = userService.saveUser(new UserDto(2L, "booker", "booker@mail.ru"));
+        ItemResponseDto item = itemService.saveItem(owner.getId(),
+                new ItemDto(1L, "item", "description", true, null));
+        for (int i = 1; i <= 3; i++) {
+            bookingService.saveBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                    LocalDateTime.now().plusDays(i), LocalDateTime.now().plusDays(i).plusHours(1)));
+        }
+
+        BookingCursorPageDto firstPage = bookingService.getUserBookingsByCursor(booker.getId(),
+                RequestStateEnum.ALL, null, 2);
+        assertThat(firstPage.getBookings().size()).isEqualTo(2);
+        assertThat(firstPage.getBookings().get(0).getId()).isEqualTo(3L);
+        assertThat(firstPage.getBookings().get(1).getId()).isEqualTo(2L);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        BookingCursorPageDto lastPage = bookingService.getUserBookingsByCursor(booker.getId(),
+                RequestStateEnum.ALL, firstPage.getNextCursor(), 2);
+        assertThat(lastPage.getBookings().size()).isEqualTo(1);
+        assertThat(lastPage.getBookings().get(0).getId()).isEqualTo(1L);
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        BookingCursorPageDto ownerPage = bookingService.getItemsBookingByCursor(owner.getId(),
+                RequestStateEnum.FUTURE, null, 5);
+        assertThat(ownerPage.getBookings().size()).isEqualTo(3);
+        assertThat(ownerPage.getNextCursor()).isNull();
+
+        BookingCursorPageDto hugePage = bookingService.getUserBookingsByCursor(booker.getId(),
+                RequestStateEnum.ALL, null, Integer.MAX_VALUE);
+        assertThat(hugePage.getBookings().size()).isEqualTo(3);
+        assertThat(hugePage.getNextCursor()).isNull();
+
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getUserBookingsByCursor(booker.getId(), RequestStateEnum.ALL, "broken", 2));
+        assertThat(exception.getMessage()).isEqualTo("Invalid booking cursor: broken");
+    }
+}
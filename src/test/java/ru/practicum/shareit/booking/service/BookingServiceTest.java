@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -20,6 +22,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -32,6 +35,8 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @Transactional
@@ -50,6 +55,9 @@ class BookingServiceTest {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private UserExistenceChecker userExistenceChecker;
+
     private final User owner = new User(1L, "name", "email@email.ru");
     private final User secondOwner = new User(2L, "secondName", "secondEmail@email.ru");
     private final ItemRequest itemRequest = new ItemRequest(1L, "description", owner,
@@ -72,6 +80,11 @@ class BookingServiceTest {
             new ItemDto(1L, "itemName", "itemDescription", true, 1L),
             new UserDto(1L, "name", "email@email.ru"), BookingStateEnum.APPROVED);
 
+    @BeforeEach
+    void clearUserCache() {
+        userExistenceChecker.evictAll();
+    }
+
     @Test
     void saveBooking() {
         when(userRepository.findById(100L))
@@ -83,21 +96,23 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
-        when(itemRepository.findById(anyLong()))
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
 
         final NotFoundException itemException = assertThrows(NotFoundException.class,
                 () -> bookingService.saveBooking(1L, bookingRequestDto));
         assertThat(itemException.getMessage()).isEqualTo("Item with id - 1 not found");
 
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
 
         final NotFoundException notFoundException = assertThrows(NotFoundException.class,
                 () -> bookingService.saveBooking(1L, bookingRequestDto));
         assertThat(notFoundException.getMessage()).isEqualTo("Owner can't book his own item");
 
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(unavailableItem));
 
         final BadRequestException badRequestException = assertThrows(BadRequestException.class,
@@ -105,7 +120,7 @@ class BookingServiceTest {
         assertThat(badRequestException.getMessage())
                 .isEqualTo("Item " + unavailableItem + " unavailable for booking");
 
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
         final BookingRequestDto wrongBookingRequestDto =
                 new BookingRequestDto(1L, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
@@ -116,8 +131,26 @@ class BookingServiceTest {
         assertThat(badRequestExceptionWrongDto.getMessage())
                 .isEqualTo("Timestamps must not be equal or end before start");
 
+        when(bookingRepository.existsOverlapping(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+
+        final BadRequestException overlapException = assertThrows(BadRequestException.class,
+                () -> bookingService.saveBooking(2L, bookingRequestDto));
+        assertThat(overlapException.getMessage())
+                .isEqualTo("Item 1 is already booked from " + bookingRequestDto.getStart() + " to " +
+                        bookingRequestDto.getEnd());
+
+        when(bookingRepository.existsOverlapping(anyLong(), any(), any(), any()))
+                .thenReturn(false);
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
+        doThrow(new DataIntegrityViolationException("excl_bookings_item_period")).when(bookingRepository).flush();
+
+        final BadRequestException constraintException = assertThrows(BadRequestException.class,
+                () -> bookingService.saveBooking(2L, bookingRequestDto));
+        assertThat(constraintException.getMessage()).isEqualTo(overlapException.getMessage());
+
+        doNothing().when(bookingRepository).flush();
 
         BookingResponseDto newBookingResponseDto = bookingService.saveBooking(2L, bookingRequestDto);
 
@@ -135,6 +168,8 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -152,15 +187,19 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondOwner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(waitingBooking));
 
         final NotFoundException bookingOwnerException = assertThrows(NotFoundException.class,
-                () -> bookingService.considerBooking(1L, true, 1L));
+                () -> bookingService.considerBooking(secondOwner.getId(), true, 1L));
         assertThat(bookingOwnerException.getMessage()).isEqualTo("Requester and booking owner not equals");
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.save(any()))
                 .thenReturn(waitingBooking);
 
@@ -186,6 +225,8 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -220,16 +261,18 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.findByBooker(any(),any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByBookerAndEndBefore(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByBookerAndStartAfter(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findAllWithCurrentState(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByBookerAndStatus(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         List<BookingResponseDto> responseDtoList = bookingService
                 .getAllUserBookings(1L, RequestStateEnum.ALL, 0, 5);
@@ -261,25 +304,27 @@ class BookingServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
-        when(itemRepository.countByOwner(any()))
-                .thenReturn(0L);
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.existsByOwner(any()))
+                .thenReturn(false);
 
         List<BookingResponseDto> responseDto = bookingService
                 .getAllItemsBooking(1L, RequestStateEnum.ALL, 0, 5);
         assertThat(responseDto).isEqualTo(Collections.emptyList());
 
-        when(itemRepository.countByOwner(any()))
-                .thenReturn(1L);
+        when(itemRepository.existsByOwner(any()))
+                .thenReturn(true);
         when(bookingRepository.findByItem_Owner(any(),any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByItem_OwnerAndEndBefore(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByItem_OwnerAndStartAfter(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findAllItemsBookingWithCurrentState(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
         when(bookingRepository.findByItem_OwnerAndStatus(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         List<BookingResponseDto> responseDtoList = bookingService
                 .getAllItemsBooking(1L, RequestStateEnum.ALL, 0, 5);
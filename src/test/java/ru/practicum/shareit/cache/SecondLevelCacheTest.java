@@ -0,0 +1,90 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.enums.EntityTypeEnum;
+import ru.practicum.shareit.events.EntityChangedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedUserLookupHitsCache() {
+        User user = userRepository.save(new User(null, "name", "email@email.ru"));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(User.class.getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedItemRequestLookupHitsCache() {
+        User user = userRepository.save(new User(null, "name", "email@email.ru"));
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "description", user,
+                LocalDateTime.now()));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        itemRequestRepository.findById(itemRequest.getId());
+        itemRequestRepository.findById(itemRequest.getId());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(ItemRequest.class.getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remoteUserChangeEvictsCachedUser() {
+        User user = userRepository.save(new User(null, "name", "email@email.ru"));
+        userRepository.findById(user.getId());
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityTypeEnum.USER, user.getId(), null, true));
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+    }
+}
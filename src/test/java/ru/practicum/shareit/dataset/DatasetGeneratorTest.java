@@ -0,0 +1,77 @@
+package ru.practicum.shareit.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.dataset.users=50",
+        "shareit.dataset.requests=10",
+        "shareit.dataset.items=200",
+        "shareit.dataset.bookings=2000",
+        "shareit.dataset.comments=300",
+        "shareit.dataset.batch-size=64"})
+@ActiveProfiles({"test", "generate"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void generatesRequestedVolumes() {
+        assertThat(count("users")).isEqualTo(50);
+        assertThat(count("requests")).isEqualTo(10);
+        assertThat(count("items")).isEqualTo(200);
+        assertThat(count("bookings")).isEqualTo(2000);
+        assertThat(count("comments")).isBetween(1L, 300L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings b join items i on i.id = b.item_id " +
+                "where b.booker_id = i.owner_id", Long.class)).isZero();
+    }
+
+    @Test
+    void skewsOwnersAndItems() {
+        Long topOwnerItems = jdbcTemplate.queryForObject("select max(c) from (select count(*) c from items " +
+                "group by owner_id) t", Long.class);
+        Long topItemBookings = jdbcTemplate.queryForObject("select max(c) from (select count(*) c from bookings " +
+                "group by item_id) t", Long.class);
+        assertThat(topOwnerItems).isGreaterThan(200L / 50 * 3);
+        assertThat(topItemBookings).isGreaterThan(2000L / 200 * 3);
+    }
+
+    @Test
+    void sameSeedProducesSameData() {
+        List<Map<String, Object>> owners = jdbcTemplate.queryForList("select id, owner_id from items order by id");
+
+        datasetGenerator.run(null);
+
+        assertThat(jdbcTemplate.queryForList("select id, owner_id from items order by id")).isEqualTo(owners);
+    }
+
+    @Test
+    void identitiesContinueAfterGeneratedRows() {
+        UserDto user = userService.saveUser(new UserDto(null, "name", "email@email.ru"));
+
+        assertThat(user.getId()).isEqualTo(51L);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBusConvergenceTest {
+    private ConfigurableApplicationContext firstNode;
+    private ConfigurableApplicationContext secondNode;
+
+    @BeforeEach
+    void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        secondNode.close();
+        firstNode.close();
+        SharedInvalidationTransport.NODES.clear();
+    }
+
+    @Test
+    void itemUpdateIsVisibleOnOtherNode() {
+        UserDto owner = firstNode.getBean(UserService.class)
+                .saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        ItemService firstItemService = firstNode.getBean(ItemService.class);
+        ItemService secondItemService = secondNode.getBean(ItemService.class);
+        ItemResponseDto item = firstItemService.saveItem(owner.getId(),
+                new ItemDto(null, "drill", "cordless drill", true, null));
+
+        assertThat(secondItemService.getItem(owner.getId(), item.getId()).getName()).isEqualTo("drill");
+
+        firstItemService.updateItem(owner.getId(), new ItemDto(null, "hammer", null, null, null), item.getId());
+
+        assertThat(secondItemService.getItem(owner.getId(), item.getId()).getName()).isEqualTo("hammer");
+        assertThat(firstItemService.getItem(owner.getId(), item.getId()).getName()).isEqualTo("hammer");
+    }
+
+    @Test
+    void itemSearchIndexConvergesOnOtherNode() {
+        UserService userService = firstNode.getBean(UserService.class);
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        UserDto searcher = userService.saveUser(new UserDto(null, "searcher", "searcher@mail.ru"));
+        ItemRequestResponseDto request = firstNode.getBean(ItemRequestService.class)
+                .saveItem(searcher.getId(), new ItemRequestDto(null, "need a drill"));
+        ItemService firstItemService = firstNode.getBean(ItemService.class);
+        ItemService secondItemService = secondNode.getBean(ItemService.class);
+
+        ItemResponseDto item = firstItemService.saveItem(owner.getId(),
+                new ItemDto(null, "drill", "cordless drill", true, request.getId()));
+        assertThat(secondItemService.searchItem(searcher.getId(), "drill", 0, 10))
+                .extracting(ItemResponseDto::getId).containsExactly(item.getId());
+
+        firstItemService.updateItem(owner.getId(), new ItemDto(null, "hammer", "steel hammer", null, null),
+                item.getId());
+        assertThat(secondItemService.searchItem(searcher.getId(), "drill", 0, 10)).isEmpty();
+        assertThat(secondItemService.searchItem(searcher.getId(), "hammer", 0, 10))
+                .extracting(ItemResponseDto::getName).containsExactly("hammer");
+
+        firstItemService.updateItem(owner.getId(), new ItemDto(null, null, null, false, null), item.getId());
+        assertThat(secondItemService.searchItem(searcher.getId(), "hammer", 0, 10)).isEmpty();
+
+        firstItemService.updateItem(owner.getId(), new ItemDto(null, null, null, true, null), item.getId());
+        assertThat(secondItemService.searchItem(searcher.getId(), "hammer", 0, 10)).hasSize(1);
+
+        userService.deleteUser(searcher.getId());
+        assertThat(secondItemService.searchItem(owner.getId(), "hammer", 0, 10)).isEmpty();
+        assertThat(firstItemService.searchItem(owner.getId(), "hammer", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void bulkCreatedItemsAreSearchableOnOtherNode() {
+        UserDto owner = firstNode.getBean(UserService.class)
+                .saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        ItemService firstItemService = firstNode.getBean(ItemService.class);
+        ItemService secondItemService = secondNode.getBean(ItemService.class);
+
+        firstItemService.saveItems(owner.getId(), List.of(new ItemDto(null, "drill", "cordless drill", true, null),
+                new ItemDto(null, "saw", "hand saw", true, null)));
+        firstItemService.importItems(owner.getId(), List.of(new ItemDto(null, "sander", "belt sander", true, null))
+                .iterator(), result -> { });
+
+        assertThat(secondItemService.searchItem(owner.getId(), "drill", 0, 10)).hasSize(1);
+        assertThat(secondItemService.searchItem(owner.getId(), "saw", 0, 10)).hasSize(1);
+        assertThat(secondItemService.searchItem(owner.getId(), "sander", 0, 10)).hasSize(1);
+    }
+
+    @Test
+    void bookingIsVisibleOnOtherNode() {
+        UserService userService = firstNode.getBean(UserService.class);
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        UserDto booker = userService.saveUser(new UserDto(null, "booker", "booker@mail.ru"));
+        ItemResponseDto item = firstNode.getBean(ItemService.class).saveItem(owner.getId(),
+                new ItemDto(null, "drill", "cordless drill", true, null));
+        ItemService secondItemService = secondNode.getBean(ItemService.class);
+
+        assertThat(secondItemService.getItem(owner.getId(), item.getId()).getNextBooking()).isNull();
+
+        LocalDateTime start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        firstNode.getBean(BookingService.class).saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start, start.plusHours(1)));
+
+        assertThat(secondItemService.getItem(owner.getId(), item.getId()).getNextBooking()).isNotNull();
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        SharedInvalidationTransport transport = new SharedInvalidationTransport();
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> context.getBeanFactory().registerSingleton("invalidationTransport",
+                        transport))
+                .run("--shareit.cache.invalidation.transport=shared");
+    }
+
+    private static class SharedInvalidationTransport implements InvalidationTransport {
+        private static final List<SharedInvalidationTransport> NODES = new CopyOnWriteArrayList<>();
+
+        private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+        SharedInvalidationTransport() {
+            NODES.add(this);
+        }
+
+        @Override
+        public void send(InvalidationMessage message) {
+            NODES.forEach(node -> node.subscribers.forEach(subscriber -> subscriber.accept(message)));
+        }
+
+        @Override
+        public void subscribe(Consumer<InvalidationMessage> subscriber) {
+            subscribers.add(subscriber);
+        }
+    }
+}
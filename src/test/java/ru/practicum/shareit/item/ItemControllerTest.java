@@ -10,17 +10,25 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.enums.BookingStateEnum;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -93,6 +101,51 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId").value(itemResponseDto.getRequestId()));
     }
 
+    @Test
+    void createItems() throws Exception {
+        when(itemService.saveItems(anyLong(), anyList())).thenReturn(List.of(itemResponseDto));
+
+        mockMvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(List.of(itemDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemResponseDto.getId()))
+                .andExpect(jsonPath("$[0].name").value(itemResponseDto.getName()))
+                .andExpect(jsonPath("$[0].description").value(itemResponseDto.getDescription()))
+                .andExpect(jsonPath("$[0].available").value(itemResponseDto.getAvailable()));
+    }
+
+    @Test
+    void importItems() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<ItemDto> rows = invocation.getArgument(1);
+            Consumer<ItemImportResultDto> results = invocation.getArgument(2);
+            long row = 0;
+            while (rows.hasNext()) {
+                ItemDto itemRow = rows.next();
+                results.accept(new ItemImportResultDto(row, row + 1, itemRow.getName(), null));
+                row++;
+            }
+            return null;
+        }).when(itemService).importItems(anyLong(), any(), any());
+
+        String body = objectMapper.writeValueAsString(itemDto) + "\n" + objectMapper.writeValueAsString(itemDto);
+        String response = mockMvc.perform(post("/items/import")
+                        .content(body)
+                        .contentType("application/x-ndjson")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], ItemImportResultDto.class))
+                .isEqualTo(new ItemImportResultDto(1L, 2L, itemDto.getName(), null));
+    }
+
     @Test
     void updateItem() throws Exception {
         when(itemService.updateItem(anyLong(), any(), anyLong())).thenReturn(itemResponseDto);
@@ -290,4 +343,34 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.authorName").value(commentDto.getAuthorName()))
                 .andExpect(jsonPath("$.created").value(commentDto.getCreated().format(formatter)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemsAvailability() throws Exception {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusHours(3);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L,
+                List.of(new TimeIntervalDto(start, start.plusHours(1))),
+                List.of(new TimeIntervalDto(start.plusHours(1), end)));
+        when(itemService.getAvailability(anyLong(), anyList(), any(), any())).thenReturn(List.of(availability));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("start", start.format(formatter))
+                        .param("end", end.format(formatter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.busy[0].start").value(start.format(formatter)))
+                .andExpect(jsonPath("$.free[0].end").value(end.format(formatter)));
+
+        mockMvc.perform(get("/items/availability")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("ids", "1", "2")
+                        .param("start", start.format(formatter))
+                        .param("end", end.format(formatter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value(1L))
+                .andExpect(jsonPath("$[0].free[0].start").value(start.plusHours(1).format(formatter)));
+    }
+}
@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class ItemRepositoryTest {
@@ -54,9 +57,9 @@ class ItemRepositoryTest {
         itemRepository.save(notAvailable);
 
         assertThat(itemRepository.search("unknown text", PageRequest.of(0, 5))
-                .getTotalElements()).isEqualTo(0);
+                .getNumberOfElements()).isEqualTo(0);
         assertThat(itemRepository.search("BOAT", PageRequest.of(0, 5))
-                .getTotalElements()).isEqualTo(2);
+                .getNumberOfElements()).isEqualTo(2);
         assertThat(itemRepository.search("Boat", PageRequest.of(0, 5)).getContent()
                 .get(0)).isEqualTo(availableName);
         assertThat(itemRepository.search("bOAT", PageRequest.of(0, 5)).getContent()
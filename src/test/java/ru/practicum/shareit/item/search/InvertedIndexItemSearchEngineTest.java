@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
+import ru.practicum.shareit.enums.SearchMatchEnum;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.transaction.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional
+@Import({InvertedIndexItemSearchEngine.class, SecondLevelCacheConfig.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class InvertedIndexItemSearchEngineTest {
+
+    @Autowired
+    private InvertedIndexItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void search() {
+        User owner = userRepository.save(new User(1L, "first user", "first@first.ru"));
+        Item availableName = itemRepository.save(new Item(1L, "nameBoatname", "description", true,
+                owner, null));
+        Item availableDescription = itemRepository.save(new Item(2L, "name", "descriptionboatdescription", true,
+                owner, null));
+        Item availableNoText = itemRepository.save(new Item(3L, "namename", "description", true,
+                owner, null));
+        Item notAvailable = itemRepository.save(new Item(4L, "boatname", "descriptionboat", false,
+                owner, null));
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("unknown text", PageRequest.of(0, 5))).isEmpty();
+        assertThat(itemSearchEngine.search("BOAT", PageRequest.of(0, 5)))
+                .containsExactly(availableName, availableDescription);
+        assertThat(itemSearchEngine.search("boat", PageRequest.of(1, 1)))
+                .containsExactly(availableDescription);
+        assertThat(itemSearchEngine.search("boat", PageRequest.of(0, 5)))
+                .doesNotContain(availableNoText, notAvailable);
+
+        availableNoText.setDescription("small boat");
+        itemSearchEngine.index(itemRepository.save(availableNoText));
+        availableName.setAvailable(false);
+        itemSearchEngine.index(itemRepository.save(availableName));
+
+        assertThat(itemSearchEngine.search("Boat", PageRequest.of(0, 5)))
+                .containsExactly(availableDescription, availableNoText);
+        assertThat(itemSearchEngine.search("ll bo", PageRequest.of(0, 5)))
+                .containsExactly(availableNoText);
+    }
+
+    @Test
+    void tokenSearch() {
+        ReflectionTestUtils.setField(itemSearchEngine, "match", SearchMatchEnum.TOKEN);
+        User owner = userRepository.save(new User(1L, "first user", "first@first.ru"));
+        Item drill = itemRepository.save(new Item(1L, "Power drill", "cordless", true, owner, null));
+        Item drills = itemRepository.save(new Item(2L, "drills", "set of bits", true, owner, null));
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("DRILL", PageRequest.of(0, 5))).containsExactly(drill);
+        assertThat(itemSearchEngine.search("dri", PageRequest.of(0, 5))).isEmpty();
+        assertThat(itemSearchEngine.search("drills bits", PageRequest.of(0, 5))).containsExactly(drills);
+        assertThat(itemSearchEngine.search("", PageRequest.of(0, 5))).isEmpty();
+    }
+}
@@ -7,9 +7,12 @@ import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -23,6 +26,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -102,4 +106,38 @@ class ItemServiceImplTest {
         commentDto.setCreated(comment.getCreated());
         assertThat(commentDto).isEqualTo(comment);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability() {
+        UserDto owner = userService.saveUser(new UserDto(1L, "owner", "owner@mail.ru"));
+        UserDto booker = userService.saveUser(new UserDto(2L, "booker", "booker@mail.ru"));
+        ItemResponseDto item = itemService.saveItem(owner.getId(),
+                new ItemDto(1L, "item", "description", true, null));
+        ItemResponseDto freeItem = itemService.saveItem(owner.getId(),
+                new ItemDto(2L, "freeItem", "description", true, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = start.plusHours(10);
+        bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.minusHours(1), start.plusHours(2)));
+        bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.plusHours(2), start.plusHours(4)));
+        BookingResponseDto rejected = bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.plusHours(6), start.plusHours(7)));
+        bookingService.considerBooking(owner.getId(), false, rejected.getId());
+        bookingService.saveBooking(booker.getId(),
+                new BookingRequestDto(item.getId(), start.plusHours(8), start.plusHours(12)));
+
+        List<ItemAvailabilityDto> availability = itemService.getAvailability(booker.getId(),
+                List.of(item.getId(), freeItem.getId()), start, end);
+        assertThat(availability.size()).isEqualTo(2);
+        assertThat(availability.get(0).getBusy()).isEqualTo(List.of(
+                new TimeIntervalDto(start, start.plusHours(4)),
+                new TimeIntervalDto(start.plusHours(8), end)));
+        assertThat(availability.get(0).getFree()).isEqualTo(List.of(
+                new TimeIntervalDto(start.plusHours(4), start.plusHours(8))));
+        assertThat(availability.get(1).getBusy()).isEqualTo(List.of());
+        assertThat(availability.get(1).getFree()).isEqualTo(List.of(new TimeIntervalDto(start, end)));
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(99L,
+                List.of(item.getId()), start, end));
+    }
+}
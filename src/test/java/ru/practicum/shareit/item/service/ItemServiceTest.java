@@ -1,16 +1,21 @@
 package ru.practicum.shareit.item.service;
 
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.enums.BookingStateEnum;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
@@ -18,9 +23,11 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -28,6 +35,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +46,15 @@ import static org.mockito.Mockito.when;
 @Transactional
 @SpringBootTest
 class ItemServiceTest {
+    private static final AtomicLong TICKER_NANOS = new AtomicLong();
+
+    @TestConfiguration
+    static class TickerConfig {
+        @Bean
+        Ticker ticker() {
+            return TICKER_NANOS::get;
+        }
+    }
 
     @MockBean
     private ItemRepository itemRepository;
@@ -50,9 +68,18 @@ class ItemServiceTest {
     @MockBean
     private CommentRepository commentRepository;
 
+    @MockBean
+    private ItemSearchEngine itemSearchEngine;
+
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemViewCache itemViewCache;
+
+    @Autowired
+    private UserExistenceChecker userExistenceChecker;
+
     private final User owner = new User(1L, "name", "email@email.ru");
     private final ItemRequest itemRequest = new ItemRequest(1L, "itemRequest", owner, LocalDateTime.now());
     private final Item item = new Item(1L, "itemName", "itemDescription",
@@ -92,6 +119,8 @@ class ItemServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.save(any()))
                 .thenReturn(item);
 
@@ -120,6 +149,8 @@ class ItemServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(100L))
                 .thenReturn(Optional.empty());
 
@@ -138,7 +169,9 @@ class ItemServiceTest {
                 .thenReturn(item);
         when(commentRepository.findByItem_Id(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         ItemResponseDto responseDto = itemService.updateItem(1L, itemDto, 1L);
@@ -147,8 +180,10 @@ class ItemServiceTest {
         assertThat(responseDto.getNextBooking()).isNull();
         assertThat(responseDto.getComments()).isEqualTo(Collections.emptyList());
 
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(nextBooking));
         when(commentRepository.findByItem_Id(anyLong(), any()))
                 .thenReturn(List.of(comment));
 
@@ -157,6 +192,12 @@ class ItemServiceTest {
         assertThat(newResponseDto.getComments()).isEqualTo(List.of(commentDto));
     }
 
+    @BeforeEach
+    void clearCache() {
+        itemViewCache.evictAll();
+        userExistenceChecker.evictAll();
+    }
+
     @Test
     void getItem() {
         when(itemRepository.findById(100L))
@@ -170,7 +211,9 @@ class ItemServiceTest {
                 .thenReturn(Optional.of(item));
         when(commentRepository.findByItem_Id(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         ItemResponseDto responseDto = itemService.getItem(1L, 1L);
@@ -179,16 +222,84 @@ class ItemServiceTest {
         assertThat(responseDto.getNextBooking()).isNull();
         assertThat(responseDto.getComments()).isEqualTo(Collections.emptyList());
 
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(nextBooking));
         when(commentRepository.findByItem_Id(anyLong(), any()))
                 .thenReturn(List.of(comment));
 
+        long hitCount = itemViewCache.getStats().hitCount();
+        ItemResponseDto cachedResponseDto = itemService.getItem(1L, 1L);
+        assertThat(cachedResponseDto.getLastBooking()).isNull();
+        assertThat(cachedResponseDto.getComments()).isEqualTo(Collections.emptyList());
+        assertThat(itemViewCache.getStats().hitCount()).isEqualTo(hitCount + 1);
+
+        itemViewCache.evict(1L);
+
         ItemResponseDto newResponseDto = itemService.getItem(1L, 1L);
         assertThat(newResponseDto).isEqualTo(itemResponseDtoWithObjects);
         assertThat(newResponseDto.getLastBooking()).isEqualTo(itemResponseDtoWithObjects.getLastBooking());
         assertThat(newResponseDto.getNextBooking()).isEqualTo(itemResponseDtoWithObjects.getNextBooking());
         assertThat(newResponseDto.getComments()).isEqualTo(List.of(commentDto));
+
+        ItemResponseDto otherUserResponseDto = itemService.getItem(2L, 1L);
+        assertThat(otherUserResponseDto.getLastBooking()).isNull();
+        assertThat(otherUserResponseDto.getNextBooking()).isNull();
+        assertThat(otherUserResponseDto.getComments()).isEqualTo(List.of(commentDto));
+    }
+
+    @Test
+    void getItemReturnsCopiesOfCachedView() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findByItem_Id(anyLong(), any()))
+                .thenReturn(List.of(comment));
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(nextBooking));
+
+        ItemResponseDto responseDto = itemService.getItem(1L, 1L);
+        responseDto.getNextBooking().setBookerId(100L);
+        responseDto.getComments().get(0).setText("changed");
+        responseDto.getComments().clear();
+
+        ItemResponseDto cachedResponseDto = itemService.getItem(1L, 1L);
+        assertThat(cachedResponseDto).isEqualTo(itemResponseDtoWithObjects);
+        assertThat(cachedResponseDto.getNextBooking()).isEqualTo(itemResponseDtoWithObjects.getNextBooking());
+        assertThat(cachedResponseDto.getComments()).isEqualTo(List.of(commentDto));
+    }
+
+    @Test
+    void getItemReloadsWhenNextBookingStarts() {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(30);
+        Booking startingBooking = new Booking(3L, start, start.plusHours(1), item, owner,
+                BookingStateEnum.APPROVED, LocalDateTime.now());
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findByItem_Id(anyLong(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(startingBooking));
+
+        assertThat(itemService.getItem(1L, 1L).getNextBooking().getId()).isEqualTo(3L);
+
+        when(bookingRepository.findItemBookingsStartedBefore(anyLong(), any(), any(), any()))
+                .thenReturn(List.of(startingBooking));
+        when(bookingRepository.findItemBookingsStartingAfter(anyLong(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        TICKER_NANOS.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        assertThat(itemService.getItem(1L, 1L).getNextBooking().getId()).isEqualTo(3L);
+
+        TICKER_NANOS.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        ItemResponseDto responseDto = itemService.getItem(1L, 1L);
+        assertThat(responseDto.getLastBooking().getId()).isEqualTo(3L);
+        assertThat(responseDto.getNextBooking()).isNull();
     }
 
     @Test
@@ -198,10 +309,12 @@ class ItemServiceTest {
         assertThat(badRequestException.getMessage()).isEqualTo("Owner can't be empty!");
 
         when(itemRepository.findByOwner_Id(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(item)));
-        when(commentRepository.findByItem_Id(anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(commentRepository.findByItem_IdIn(anyCollection(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
+        when(bookingRepository.findLastBookings(anyCollection(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextBookings(anyCollection(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemResponseDto> responseDto = itemService.getAllOwnerItems(1L, 0, 5);
@@ -210,9 +323,11 @@ class ItemServiceTest {
         assertThat(responseDto.get(0).getNextBooking()).isNull();
         assertThat(responseDto.get(0).getComments()).isEqualTo(Collections.emptyList());
 
-        when(bookingRepository.findByItem_Id(anyLong(), any()))
-                .thenReturn(List.of(lastBooking, nextBooking));
-        when(commentRepository.findByItem_Id(anyLong(), any()))
+        when(bookingRepository.findLastBookings(anyCollection(), any(), any()))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookings(anyCollection(), any(), any()))
+                .thenReturn(List.of(nextBooking));
+        when(commentRepository.findByItem_IdIn(anyCollection(), any()))
                 .thenReturn(List.of(comment));
 
         List<ItemResponseDto> newResponseDto = itemService.getAllOwnerItems(1L, 0, 5);
@@ -226,9 +341,9 @@ class ItemServiceTest {
     void searchItem() {
         assertThat(itemService.searchItem(1L, "", 0, 5)).isEqualTo(Collections.emptyList());
 
-        when(itemRepository.search(anyString(), any()))
-                .thenReturn(new PageImpl<>(List.of(item)));
-        when(commentRepository.findByItem_Id(anyLong(), any()))
+        when(itemSearchEngine.search(anyString(), any()))
+                .thenReturn(List.of(item));
+        when(commentRepository.findByItem_IdIn(anyCollection(), any()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemResponseDto> responseDto = itemService.searchItem(1L, "text", 0, 5);
@@ -237,7 +352,7 @@ class ItemServiceTest {
         assertThat(responseDto.get(0).getNextBooking()).isNull();
         assertThat(responseDto.get(0).getComments()).isEqualTo(Collections.emptyList());
 
-        when(commentRepository.findByItem_Id(anyLong(), any()))
+        when(commentRepository.findByItem_IdIn(anyCollection(), any()))
                 .thenReturn(List.of(comment));
 
         List<ItemResponseDto> newResponseDto = itemService.searchItem(1L, "text", 0, 5);
@@ -262,6 +377,8 @@ class ItemServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(100L))
                 .thenReturn(Optional.empty());
 
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsIdsAndSizesInsteadOfPayload() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1.0, 500);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/5");
+        request.addHeader("X-Sharer-User-Id", "1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("itemId", "5"));
+        request.setAttribute(AccessLogFilter.RESULT_SIZE_ATTRIBUTE, 3);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .contains("method=GET", "uri=/items/{itemId}", "status=200", "userId=1", "pathIds={itemId=5}",
+                        "resultSize=3");
+    }
+
+    @Test
+    void sampledOutRequestsAreLoggedOnlyWhenFailed() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(0.0, 500);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertThat(appender.list).isEmpty();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/100"), response, new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .contains("uri=/items/100", "status=404", "userId=-", "pathIds=-", "resultSize=-");
+    }
+}
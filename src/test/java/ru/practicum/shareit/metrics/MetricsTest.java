@@ -0,0 +1,70 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void bookingQueriesAreTimedByState() throws Exception {
+        UserDto user = userService.saveUser(new UserDto(null, "name", "email@email.ru"));
+
+        mockMvc.perform(get("/bookings").param("state", "PAST").header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.requests")
+                .tags("uri", "/bookings", "status", "200", "state", "PAST")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests")
+                .tags("uri", "/bookings/owner", "state", "ALL")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("class", "BookingServiceImpl", "method", "getAllUserBookings", "state", "PAST")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("class", "UserServiceImpl", "method", "saveUser", "state", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void prometheusEndpointExposesHistograms() throws Exception {
+        UserDto user = userService.saveUser(new UserDto(null, "name", "email@email.ru"));
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape).contains("http_server_requests_seconds_bucket");
+        assertThat(scrape).contains("shareit_service_seconds_bucket");
+        assertThat(scrape).contains("quantile=\"0.99\"");
+    }
+}
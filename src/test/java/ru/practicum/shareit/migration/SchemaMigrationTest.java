@@ -0,0 +1,65 @@
+package ru.practicum.shareit.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void migrationsAreRecordedWithChecksums() {
+        List<Map<String, Object>> history = jdbcTemplate.queryForList("select \"version\", \"checksum\", " +
+                "\"success\" from \"flyway_schema_history\" where \"version\" is not null order by \"installed_rank\"");
+
+        assertThat(history).extracting(row -> row.get("version")).containsExactly("1", "2", "3", "4");
+        assertThat(history).allSatisfy(row -> {
+            assertThat(row.get("checksum")).isNotNull();
+            assertThat(row.get("success")).isEqualTo(true);
+        });
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void restartAppliesOnlyPendingMigrations() {
+        jdbcTemplate.update("insert into users (name, email) values ('name', 'email@email.ru')");
+
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void rawInsertsAndEntitiesShareIdSequence() {
+        User first = userRepository.save(new User(null, "first", "first@email.ru"));
+        jdbcTemplate.update("insert into users (name, email) values ('raw', 'raw@email.ru')");
+        User second = userRepository.save(new User(null, "second", "second@email.ru"));
+        Long rawId = jdbcTemplate.queryForObject("select id from users where email = 'raw@email.ru'", Long.class);
+
+        assertThat(List.of(first.getId(), rawId, second.getId())).doesNotHaveDuplicates();
+        for (int i = 0; i < 60; i++) {
+            userRepository.save(new User(null, "user" + i, "user" + i + "@email.ru"));
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from users", Long.class)).isEqualTo(63);
+    }
+}
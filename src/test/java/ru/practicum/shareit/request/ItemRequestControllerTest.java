@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -124,4 +125,17 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.created").value(itemRequestResponseDto.getCreated()
                         .format(formatter)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestWithUnknownUser() throws Exception {
+        when(itemRequestService.getRequestById(100L, 1L))
+                .thenThrow(new NotFoundException("User with id - 100 not found"));
+
+        mockMvc.perform(get("/requests/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 100))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User with id - 100 not found"));
+    }
+}
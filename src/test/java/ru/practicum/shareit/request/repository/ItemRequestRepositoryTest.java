@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -17,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @Transactional
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class ItemRequestRepositoryTest {
 
@@ -43,9 +46,9 @@ class ItemRequestRepositoryTest {
         itemRequestRepository.save(secondRequest);
 
         assertThat(itemRequestRepository.findOtherRequests(1L, PageRequest.of(0, 2))
-                .getTotalElements()).isEqualTo(0);
+                .getNumberOfElements()).isEqualTo(0);
         assertThat(itemRequestRepository.findOtherRequests(2L, PageRequest.of(0, 3))
-                .getTotalElements()).isEqualTo(2);
+                .getNumberOfElements()).isEqualTo(2);
         assertThat(itemRequestRepository.findOtherRequests(2L, PageRequest.of(0, 2)).getContent()
                 .get(0)).isEqualTo(firstRequest);
         assertThat(itemRequestRepository.findOtherRequests(2L, PageRequest.of(0, 2)).getContent()
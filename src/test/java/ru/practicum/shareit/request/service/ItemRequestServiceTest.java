@@ -1,10 +1,11 @@
 package ru.practicum.shareit.request.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -26,6 +28,7 @@ import java.util.Optional;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +48,9 @@ class ItemRequestServiceTest {
     @Autowired
     private ItemRequestService itemRequestService;
 
+    @Autowired
+    private UserExistenceChecker userExistenceChecker;
+
     private final User owner = new User(1L, "name", "email@email.ru");
     private final ItemRequest itemRequest = new ItemRequest(1L, "description", owner,
             LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
@@ -58,6 +64,11 @@ class ItemRequestServiceTest {
             "itemDescription", true, 1L)),
             LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
 
+    @BeforeEach
+    void clearUserCache() {
+        userExistenceChecker.evictAll();
+    }
+
     @Test
     void saveItem() {
         when(userRepository.findById(100L))
@@ -71,6 +82,8 @@ class ItemRequestServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
 
         ItemRequestResponseDto newItemResponseDto = itemRequestService.saveItem(1L, itemRequestDto);
 
@@ -93,16 +106,18 @@ class ItemRequestServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRequestRepository.findByRequester_Id(anyLong(), any()))
                 .thenReturn(List.of(itemRequest));
-        when(itemRepository.findByRequestId(anyLong()))
+        when(itemRepository.findByRequestIdIn(anyCollection()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemRequestResponseDto> responseDtoList = itemRequestService.getAllOwnerRequests(1L);
         assertThat(responseDtoList).isEqualTo(List.of(itemRequestResponseDto));
         assertThat(responseDtoList.get(0).getItems()).isEqualTo(Collections.emptyList());
 
-        when(itemRepository.findByRequestId(anyLong()))
+        when(itemRepository.findByRequestIdIn(anyCollection()))
                 .thenReturn(List.of(item));
 
         List<ItemRequestResponseDto> newResponseDtoList = itemRequestService.getAllOwnerRequests(1L);
@@ -121,16 +136,18 @@ class ItemRequestServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRequestRepository.findOtherRequests(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
-        when(itemRepository.findByRequestId(anyLong()))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest)));
+        when(itemRepository.findByRequestIdIn(anyCollection()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemRequestResponseDto> responseDtoList = itemRequestService.getAllRequests(1L, 0, 5);
         assertThat(responseDtoList).isEqualTo(List.of(itemRequestResponseDto));
         assertThat(responseDtoList.get(0).getItems()).isEqualTo(Collections.emptyList());
 
-        when(itemRepository.findByRequestId(anyLong()))
+        when(itemRepository.findByRequestIdIn(anyCollection()))
                 .thenReturn(List.of(item));
 
         List<ItemRequestResponseDto> newResponseDtoList = itemRequestService.getAllRequests(1L, 0, 5);
@@ -149,6 +166,8 @@ class ItemRequestServiceTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
+        when(userRepository.existsUserById(anyLong()))
+                .thenReturn(true);
         when(itemRequestRepository.findById(100L))
                 .thenReturn(Optional.empty());
 
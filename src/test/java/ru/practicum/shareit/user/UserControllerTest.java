@@ -45,6 +45,20 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value(userDto.getEmail()));
     }
 
+    @Test
+    void createUsers() throws Exception {
+        when(userService.saveUsers(anyList())).thenReturn(List.of(userDto));
+
+        mockMvc.perform(post("/users/batch")
+                        .content(objectMapper.writeValueAsString(List.of(userDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(userDto.getId()))
+                .andExpect(jsonPath("$[0].name").value(userDto.getName()))
+                .andExpect(jsonPath("$[0].email").value(userDto.getEmail()));
+    }
+
     @Test
     void updateUser() throws Exception {
         when(userService.updateUser(any(), anyLong())).thenReturn(userDto);
@@ -4,10 +4,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingStateEnum;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -20,6 +34,21 @@ class UserServiceImplTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Test
     void integrationTest() {
         UserDto userDto = new UserDto(1L, "FirstUser", "mail@mail.ru");
@@ -44,4 +73,29 @@ class UserServiceImplTest {
         assertThat(resultList.size()).isEqualTo(1);
         assertThat(resultList.get(0)).isEqualTo(updateUser);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void deletedBookerDisappearsFromCachedItemView() {
+        UserDto owner = userService.saveUser(new UserDto(null, "owner", "owner@mail.ru"));
+        UserDto booker = userService.saveUser(new UserDto(null, "booker", "booker@mail.ru"));
+        ItemResponseDto itemDto = itemService.saveItem(owner.getId(),
+                new ItemDto(null, "item", "description", true, null));
+        Item item = itemRepository.findById(itemDto.getId()).orElseThrow();
+        User bookerUser = userRepository.findById(booker.getId()).orElseThrow();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, bookerUser,
+                BookingStateEnum.APPROVED, now.minusDays(3)));
+        commentRepository.save(new Comment(null, "comment", item, bookerUser, now));
+
+        ItemResponseDto view = itemService.getItem(owner.getId(), item.getId());
+        assertThat(view.getLastBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(view.getComments().size()).isEqualTo(1);
+
+        userService.deleteUser(booker.getId());
+
+        view = itemService.getItem(owner.getId(), item.getId());
+        assertThat(view.getLastBooking()).isNull();
+        assertThat(view.getComments().isEmpty()).isTrue();
+    }
+}